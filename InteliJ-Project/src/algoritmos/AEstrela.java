@@ -3,8 +3,12 @@ package algoritmos;
 import grafo.Aresta;
 import grafo.Grafo;
 import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+import rastreio.GravadorRastreio;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * // Classe: AEstrela
@@ -29,12 +33,29 @@ public class AEstrela {
         }
     }
 
+    /**
+     * // Record: EntradaFila
+     * // Descrição: Item da fronteira do modo interativo. 'ordem' desempata itens com o
+     * //            mesmo fScore pela ordem de inserção, para que a fronteira possa ficar
+     * //            em um conjunto ordenado (TreeSet) e ser impressa já em ordem, sem
+     * //            copiar e ordenar a fila a cada iteração.
+     */
+    private record EntradaFila(No no, int fScore, int gScore, long ordem) implements Comparable<EntradaFila> {
+        @Override
+        public int compareTo(EntradaFila outra) {
+            int comparacao = Integer.compare(this.fScore, outra.fScore);
+            return comparacao != 0 ? comparacao : Long.compare(this.ordem, outra.ordem);
+        }
+    }
+
     /**
      * // Função: executar
      * // Descrição: Método principal que executa o A*. Ele gerencia a "fronteira" de nós a serem
-     * //            explorados usando uma Fila de Prioridade e mantém os custos (gScore) de cada nó.
-     * //            A cada passo, ele escolhe o nó mais promissor da fila, o expande e atualiza
-     * //            os custos de seus vizinhos se um caminho melhor for encontrado.
+     * //            explorados usando um conjunto ordenado (TreeSet) e mantém os custos (gScore)
+     * //            de cada nó. A cada passo, ele escolhe o nó mais promissor, o expande e atualiza
+     * //            os custos de seus vizinhos se um caminho melhor for encontrado. Como a
+     * //            fronteira já está em ordem, imprimi-la custa só percorrê-la (O(tamanho) por
+     * //            iteração, e O(log n) por inserção/retirada), sem cópia nem ordenação.
      * // Entrada: grafo (Grafo) - O grafo com os nós e arestas.
      * //          labelInicial (String) - O nome do nó de partida.
      * //          labelFinal (String) - O nome do nó objetivo.
@@ -53,8 +74,9 @@ public class AEstrela {
             return;
         }
 
-        // A Fila de Prioridade é a "fronteira" de nós a serem explorados.
-        PriorityQueue<NoAEstrela> fronteira = new PriorityQueue<>();
+        // A "fronteira" de nós a serem explorados, sempre em ordem de fScore.
+        TreeSet<EntradaFila> fronteira = new TreeSet<>();
+        long ordem = 0;
 
         // Mapa para reconstruir o caminho no final, guardando "de onde viemos" para cada nó.
         Map<No, No> veioDe = new HashMap<>();
@@ -68,7 +90,7 @@ public class AEstrela {
 
         // fScore = gScore + heurística. Para o nó inicial, gScore é 0.
         int fScoreInicial = noInicial.getHeuristica();
-        fronteira.add(new NoAEstrela(noInicial, fScoreInicial));
+        fronteira.add(new EntradaFila(noInicial, fScoreInicial, 0, ordem++));
 
         System.out.println("Início da execução A*");
         int iteracao = 1;
@@ -77,9 +99,9 @@ public class AEstrela {
 
         while (!fronteira.isEmpty()) {
             System.out.println("Iteração " + iteracao + ":");
-            imprimirFronteira(fronteira, gScore);
+            imprimirFronteira(fronteira);
 
-            No atual = Objects.requireNonNull(fronteira.poll()).no(); // Pega o nó mais promissor da fila
+            No atual = fronteira.pollFirst().no(); // Pega o nó mais promissor da fila
             nosExpandidos++;
             imprimirMetricas(nosExpandidos, nosGerados);
 
@@ -105,7 +127,7 @@ public class AEstrela {
                     gScore.put(vizinho, gScoreTentativo); // Atualiza o custo g
 
                     int fScoreNovo = gScoreTentativo + vizinho.getHeuristica(); // Recalcula o fScore
-                    fronteira.add(new NoAEstrela(vizinho, fScoreNovo)); // Adiciona na fronteira para ser explorado
+                    fronteira.add(new EntradaFila(vizinho, fScoreNovo, gScoreTentativo, ordem++)); // Adiciona na fronteira para ser explorado
                     nosGerados++;
                 }
             }
@@ -122,31 +144,138 @@ public class AEstrela {
         System.out.println("Caminho não encontrado.");
     }
 
+    /**
+     * // Função: buscar
+     * // Descrição: Versão silenciosa do A*, sem pausas nem impressão. Todo o estado
+     * //            (gScore, veioDe, fronteira) é local, então o grafo só é lido e pode
+     * //            ser compartilhado por várias buscas ao mesmo tempo. Entradas antigas
+     * //            da fila (cujo gScore já foi melhorado) são descartadas ao sair dela.
+     * // Entrada: grafo (Grafo) - O grafo com os nós, arestas e heurísticas.
+     * //          labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó objetivo.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     * // Pré-Condição: O grafo não deve ser modificado durante a busca.
+     * // Pós-Condição: O grafo permanece inalterado.
+     */
+    public static ResultadoBusca buscar(Grafo grafo, String labelInicial, String labelFinal, AtomicBoolean cancelado) {
+        return buscar(grafo, labelInicial, labelFinal, cancelado, GravadorRastreio.desligado());
+    }
+
+    /**
+     * // Função: buscar
+     * // Descrição: Igual à versão acima, mas registra o passo a passo (push, pop,
+     * //            relaxamentos e descartes) no gravador de rastreio informado, para
+     * //            que a fronteira de cada iteração possa ser reproduzida depois.
+     * // Entrada: As mesmas da versão acima, mais:
+     * //          rastreio (GravadorRastreio) - Onde gravar os eventos da busca.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     */
+    public static ResultadoBusca buscar(Grafo grafo, String labelInicial, String labelFinal,
+                                        AtomicBoolean cancelado, GravadorRastreio rastreio) {
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+
+        if (noInicial == null || noFinal == null) {
+            return ResultadoBusca.naoEncontrado("A*", 0, true);
+        }
+
+        ContadorBusca contador = Metricas.iniciarBusca("A*");
+        PriorityQueue<NoAEstrela> fronteira = new PriorityQueue<>();
+        Map<No, No> veioDe = new HashMap<>();
+        Map<No, Integer> gScore = new HashMap<>();
+
+        gScore.put(noInicial, 0);
+        fronteira.add(new NoAEstrela(noInicial, noInicial.getHeuristica()));
+        contador.gerou();
+        rastreio.inicio(noInicial.getId(), GravadorRastreio.ALGORITMO_A_ESTRELA, noFinal.getId());
+        rastreio.push(noInicial.getId(), noInicial.getHeuristica(), 0);
+        int nosExpandidos = 0;
+
+        while (!fronteira.isEmpty()) {
+            if (cancelado.get()) {
+                contador.finalizar(false);
+                return null;
+            }
+
+            NoAEstrela item = fronteira.poll();
+            No atual = item.no();
+            int gAtual = gScore.get(atual);
+            rastreio.pop(atual.getId(), item.fScore(), item.fScore() - atual.getHeuristica());
+
+            // Entrada desatualizada: já achamos um caminho melhor para este nó.
+            if (item.fScore() > gAtual + atual.getHeuristica()) {
+                contador.descartouObsoleta();
+                rastreio.poda(atual.getId(), item.fScore(), GravadorRastreio.MOTIVO_OBSOLETO);
+                continue;
+            }
+            nosExpandidos++;
+            contador.expandiu();
+
+            if (atual.equals(noFinal)) {
+                contador.finalizar(true);
+                rastreio.fim(atual.getId(), gAtual, nosExpandidos);
+                return new ResultadoBusca("A*", reconstruirCaminho(veioDe, atual), gAtual, nosExpandidos, true);
+            }
+
+            for (Aresta aresta : atual.getArestas()) {
+                No vizinho = aresta.getDestino();
+                int gScoreTentativo = gAtual + aresta.getPeso();
+                contador.relaxou();
+                rastreio.relaxa(vizinho.getId(), gScoreTentativo, atual.getId());
+
+                if (gScoreTentativo < gScore.getOrDefault(vizinho, Integer.MAX_VALUE)) {
+                    veioDe.put(vizinho, atual);
+                    gScore.put(vizinho, gScoreTentativo);
+                    int fScoreNovo = gScoreTentativo + vizinho.getHeuristica();
+                    fronteira.add(new NoAEstrela(vizinho, fScoreNovo));
+                    contador.gerou();
+                    rastreio.push(vizinho.getId(), fScoreNovo, gScoreTentativo);
+                }
+            }
+            contador.fronteira(fronteira.size());
+        }
+
+        contador.finalizar(false);
+        rastreio.fim(-1, -1, nosExpandidos);
+        return ResultadoBusca.naoEncontrado("A*", nosExpandidos, true);
+    }
+
+    /**
+     * // Função: reconstruirCaminho
+     * // Descrição: Volta do nó final até o inicial usando o mapa 'veioDe' e devolve
+     * //            a lista de nós na ordem do percurso.
+     * // Entrada: veioDe (Map) - Mapa de predecessores.
+     * //          atual (No) - O nó de destino.
+     * // Saída: A lista de nós do início até 'atual'.
+     */
+    private static List<No> reconstruirCaminho(Map<No, No> veioDe, No atual) {
+        LinkedList<No> caminho = new LinkedList<>();
+        No temp = atual;
+        while (temp != null) {
+            caminho.addFirst(temp);
+            temp = veioDe.get(temp);
+        }
+        return caminho;
+    }
+
     /**
      * // Função: imprimirFronteira
-     * // Descrição: Mostra o conteúdo da Fila de Prioridade de forma organizada.
+     * // Descrição: Mostra o conteúdo da fronteira de forma organizada.
      * //            Para cada nó na fila, exibe seu gScore, heurística (h) e o fScore total (g+h=f).
-     * //            Isso ajuda a visualizar por que o A* está fazendo suas escolhas.
-     * // Entrada: fronteira (PriorityQueue) - A fila com os nós a serem explorados.
-     * //          gScore (Map) - O mapa com os custos para chegar em cada nó.
+     * //            Isso ajuda a visualizar por que o A* está fazendo suas escolhas. A fronteira
+     * //            já está ordenada, então ela é só percorrida (nada é copiado nem ordenado).
+     * // Entrada: fronteira (TreeSet) - Os nós a serem explorados, em ordem de fScore.
      * // Saída: Nenhuma (imprime o estado da fila no console).
-     * // Pré-Condição: A fronteira e o mapa gScore devem estar inicializados.
+     * // Pré-Condição: A fronteira deve estar inicializada.
      * // Pós-Condição: O estado atual da fronteira é exibido de forma legível.
      */
-    private static void imprimirFronteira(PriorityQueue<NoAEstrela> fronteira, Map<No, Integer> gScore) {
+    private static void imprimirFronteira(TreeSet<EntradaFila> fronteira) {
         StringBuilder sb = new StringBuilder("Fila: ");
-        List<NoAEstrela> listaOrdenada = new ArrayList<>(fronteira);
-        Collections.sort(listaOrdenada);
-
-        for (NoAEstrela noWrapper : listaOrdenada) {
-            No no = noWrapper.no();
-            int g = gScore.get(no);
-
-            if (g == Integer.MAX_VALUE) continue; // Não mostra nós inalcançáveis ainda
-
-            int h = no.getHeuristica();
-            int f = noWrapper.fScore();
-            sb.append(String.format("(%s: %d+%d=%d) ", no.getLabel(), g, h, f));
+        for (EntradaFila entrada : fronteira) {
+            int f = entrada.fScore();
+            int g = entrada.gScore();
+            sb.append(String.format("(%s: %d+%d=%d) ", entrada.no().getLabel(), g, f - g, f));
         }
         System.out.println(sb.toString().trim());
     }
@@ -182,13 +311,8 @@ public class AEstrela {
      * // Pós-Condição: O resultado final é apresentado de forma clara.
      */
     private static void imprimirResultadoFinal(Map<No, No> veioDe, Map<No, Integer> gScore, No atual, int nosExpandidos, int nosGerados) {
-        List<No> caminho = new LinkedList<>();
-        No temp = atual;
         // Volta do final para o início usando o mapa 'veioDe' para montar a lista do caminho
-        while (temp != null) {
-            caminho.addFirst(temp);
-            temp = veioDe.get(temp);
-        }
+        List<No> caminho = reconstruirCaminho(veioDe, atual);
 
         System.out.printf("Distância: %d%n", gScore.get(atual));
 
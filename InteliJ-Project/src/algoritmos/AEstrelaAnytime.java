@@ -0,0 +1,268 @@
+package algoritmos;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+
+import java.util.*;
+
+/**
+ * // Classe: AEstrelaAnytime
+ * // Descrição: Implementa o ARA* (Anytime Repairing A*), uma versão "a qualquer momento"
+ * //            do A*. Ele começa com a heurística inflada por um peso (ε > 1), o que
+ * //            faz a busca ir direto ao objetivo e achar rapidamente um primeiro caminho,
+ * //            com custo no máximo ε vezes o ótimo. Depois o peso vai diminuindo e o
+ * //            caminho é melhorado, reaproveitando os custos (gScore) já calculados, até
+ * //            chegar no ótimo (ε = 1) ou estourar o prazo de tempo.
+ */
+public class AEstrelaAnytime {
+
+    // Valores padrão: peso inicial da heurística e quanto ele diminui a cada rodada.
+    public static final double PESO_INICIAL = 3.0;
+    public static final double DECREMENTO_PESO = 0.5;
+
+    /**
+     * // Record: Solucao
+     * // Descrição: Uma solução intermediária publicada pelo ARA*.
+     * //   - caminho (List<No>): Sequência de nós do início ao fim.
+     * //   - custo (int): Custo total do caminho.
+     * //   - limiteSubotimo (double): Garantia de qualidade: custo <= limiteSubotimo * ótimo.
+     * //   - tempoNanos (long): Tempo desde o início da busca até esta solução.
+     */
+    public record Solucao(List<No> caminho, int custo, double limiteSubotimo, long tempoNanos) {}
+
+    /**
+     * // Record: ResultadoAnytime
+     * // Descrição: Todas as soluções encontradas (da pior para a melhor), se a última
+     * //            é comprovadamente ótima, e o total de nós expandidos em todas as rodadas.
+     */
+    public record ResultadoAnytime(List<Solucao> solucoes, boolean otimo, int nosExpandidos) {
+        public Solucao melhor() {
+            return solucoes.isEmpty() ? null : solucoes.get(solucoes.size() - 1);
+        }
+    }
+
+    /**
+     * // Record: NoChave
+     * // Descrição: Entrada da fila de prioridade: o nó e sua chave g + ε·h no momento
+     * //            em que foi inserido. Entradas cuja chave já mudou são ignoradas ao sair.
+     */
+    private record NoChave(No no, double chave) implements Comparable<NoChave> {
+        @Override
+        public int compareTo(NoChave outro) {
+            return Double.compare(this.chave, outro.chave);
+        }
+    }
+
+    /**
+     * // Função: executar
+     * // Descrição: Atalho que usa o peso inicial e o decremento padrão.
+     * // Entrada: grafo, labelInicial, labelFinal - como no A*.
+     * //          prazoNanos (long) - Tempo máximo (em nanossegundos) para a busca.
+     * // Saída: O ResultadoAnytime com as soluções encontradas dentro do prazo.
+     */
+    public static ResultadoAnytime executar(Grafo grafo, String labelInicial, String labelFinal, long prazoNanos) {
+        return executar(grafo, labelInicial, labelFinal, PESO_INICIAL, DECREMENTO_PESO, prazoNanos);
+    }
+
+    /**
+     * // Função: executar
+     * // Descrição: Roda o ARA*. A cada rodada chama 'melhorarCaminho' com o peso atual,
+     * //            publica a solução (se melhorou) junto com seu limite de subotimalidade,
+     * //            diminui o peso e devolve à fila os nós "inconsistentes" (aqueles cujo
+     * //            custo melhorou depois de já terem sido expandidos na rodada). As
+     * //            rodadas param quando o limite chega a 1 (ótimo) ou o prazo acaba.
+     * // Entrada: grafo (Grafo) - O grafo com as heurísticas definidas (apenas leitura).
+     * //          labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó objetivo.
+     * //          pesoInicial (double) - O ε da primeira rodada (>= 1).
+     * //          decremento (double) - Quanto o ε diminui a cada rodada (> 0).
+     * //          prazoNanos (long) - Tempo máximo (em nanossegundos) para a busca.
+     * // Saída: O ResultadoAnytime (a lista de soluções fica vazia se nenhuma saiu a tempo).
+     * // Pré-Condição: A heurística deve ser admissível para que os limites sejam válidos.
+     * // Pós-Condição: O grafo permanece inalterado.
+     */
+    public static ResultadoAnytime executar(Grafo grafo, String labelInicial, String labelFinal,
+                                            double pesoInicial, double decremento, long prazoNanos) {
+        if (pesoInicial < 1.0 || decremento <= 0.0) {
+            throw new IllegalArgumentException("O peso inicial deve ser >= 1 e o decremento > 0.");
+        }
+
+        long inicio = System.nanoTime();
+        long fimPrazo = inicio + prazoNanos;
+        List<Solucao> solucoes = new ArrayList<>();
+
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+        if (noInicial == null || noFinal == null) {
+            return new ResultadoAnytime(solucoes, false, 0);
+        }
+
+        Estado estado = new Estado(noInicial, pesoInicial);
+
+        while (true) {
+            // Uma rodada interrompida pelo prazo não tem garantia de qualidade, então
+            // ficamos com as soluções já publicadas.
+            if (!estado.melhorarCaminho(noFinal, fimPrazo)) {
+                return new ResultadoAnytime(solucoes, false, estado.nosExpandidos);
+            }
+
+            int custo = estado.g(noFinal);
+            if (custo == Integer.MAX_VALUE) {
+                // A rodada terminou sem alcançar o objetivo: não existe caminho.
+                return new ResultadoAnytime(solucoes, true, estado.nosExpandidos);
+            }
+
+            double limite = estado.limiteSubotimo(custo);
+            Solucao anterior = solucoes.isEmpty() ? null : solucoes.get(solucoes.size() - 1);
+            if (anterior == null || custo < anterior.custo() || limite < anterior.limiteSubotimo()) {
+                solucoes.add(new Solucao(estado.caminho(noFinal), custo, limite, System.nanoTime() - inicio));
+            }
+
+            if (System.nanoTime() >= fimPrazo) {
+                return new ResultadoAnytime(solucoes, false, estado.nosExpandidos);
+            }
+            if (limite <= 1.0) {
+                return new ResultadoAnytime(solucoes, true, estado.nosExpandidos);
+            }
+
+            estado.reduzirPeso(Math.max(1.0, estado.peso - decremento));
+        }
+    }
+
+    /**
+     * // Classe: Estado
+     * // Descrição: Guarda tudo o que é reaproveitado entre as rodadas do ARA*: os custos
+     * //            g, os predecessores, a fronteira (ABERTOS), os já expandidos na rodada
+     * //            (FECHADOS) e os inconsistentes (INCONS).
+     */
+    private static class Estado {
+        private final Map<No, Integer> gScore = new HashMap<>();
+        private final Map<No, No> veioDe = new HashMap<>();
+        private final Map<No, Double> abertos = new HashMap<>(); // nó -> chave atual na fila
+        private final PriorityQueue<NoChave> fila = new PriorityQueue<>();
+        private final Set<No> fechados = new HashSet<>();
+        private final Set<No> inconsistentes = new HashSet<>();
+        private double peso;
+        private int nosExpandidos = 0;
+
+        Estado(No noInicial, double peso) {
+            this.peso = peso;
+            gScore.put(noInicial, 0);
+            abrir(noInicial);
+        }
+
+        int g(No no) {
+            return gScore.getOrDefault(no, Integer.MAX_VALUE);
+        }
+
+        double chave(No no) {
+            return g(no) + peso * no.getHeuristica();
+        }
+
+        void abrir(No no) {
+            double chave = chave(no);
+            abertos.put(no, chave);
+            fila.add(new NoChave(no, chave));
+        }
+
+        /**
+         * // Função: melhorarCaminho
+         * // Descrição: O laço do A* ponderado. Expande nós enquanto a chave do objetivo
+         * //            for maior que a menor chave da fila. Vizinhos já expandidos nesta
+         * //            rodada não voltam para a fila: vão para INCONS.
+         * // Entrada: noFinal (No) - O objetivo.
+         * //          fimPrazo (long) - Instante (System.nanoTime) em que o prazo acaba.
+         * // Saída: true se a rodada terminou; false se o prazo acabou no meio dela.
+         */
+        boolean melhorarCaminho(No noFinal, long fimPrazo) {
+            while (!fila.isEmpty()) {
+                NoChave topo = fila.peek();
+                Double chaveAtual = abertos.get(topo.no());
+                if (chaveAtual == null || chaveAtual != topo.chave()) {
+                    fila.poll(); // Entrada desatualizada
+                    continue;
+                }
+                if (chave(noFinal) <= topo.chave()) {
+                    return true;
+                }
+                if (System.nanoTime() >= fimPrazo) {
+                    return false;
+                }
+
+                fila.poll();
+                No atual = topo.no();
+                abertos.remove(atual);
+                fechados.add(atual);
+                nosExpandidos++;
+
+                int gAtual = g(atual);
+                for (Aresta aresta : atual.getArestas()) {
+                    No vizinho = aresta.getDestino();
+                    int gTentativo = gAtual + aresta.getPeso();
+                    if (gTentativo < g(vizinho)) {
+                        gScore.put(vizinho, gTentativo);
+                        veioDe.put(vizinho, atual);
+                        if (fechados.contains(vizinho)) {
+                            inconsistentes.add(vizinho);
+                        } else {
+                            abrir(vizinho);
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * // Função: reduzirPeso
+         * // Descrição: Prepara a próxima rodada: aplica o novo ε, junta INCONS com ABERTOS,
+         * //            recalcula as chaves e esvazia FECHADOS.
+         * // Entrada: novoPeso (double) - O ε da próxima rodada.
+         * // Saída: Nenhuma.
+         */
+        void reduzirPeso(double novoPeso) {
+            peso = novoPeso;
+            List<No> pendentes = new ArrayList<>(abertos.keySet());
+            pendentes.addAll(inconsistentes);
+            abertos.clear();
+            fila.clear();
+            inconsistentes.clear();
+            fechados.clear();
+            for (No no : pendentes) {
+                abrir(no);
+            }
+        }
+
+        /**
+         * // Função: limiteSubotimo
+         * // Descrição: Calcula a garantia de qualidade da solução atual:
+         * //            min(ε, custo / min{g(s) + h(s) : s em ABERTOS ∪ INCONS}).
+         * // Entrada: custo (int) - O custo do caminho atual até o objetivo.
+         * // Saída: O fator ε' tal que custo <= ε' * ótimo.
+         */
+        double limiteSubotimo(int custo) {
+            long menor = Long.MAX_VALUE;
+            for (No no : abertos.keySet()) {
+                menor = Math.min(menor, (long) g(no) + no.getHeuristica());
+            }
+            for (No no : inconsistentes) {
+                menor = Math.min(menor, (long) g(no) + no.getHeuristica());
+            }
+            if (menor == Long.MAX_VALUE || menor >= custo) {
+                return 1.0;
+            }
+            return Math.min(peso, (double) custo / menor);
+        }
+
+        List<No> caminho(No noFinal) {
+            LinkedList<No> caminho = new LinkedList<>();
+            No temp = noFinal;
+            while (temp != null) {
+                caminho.addFirst(temp);
+                temp = veioDe.get(temp);
+            }
+            return caminho;
+        }
+    }
+}
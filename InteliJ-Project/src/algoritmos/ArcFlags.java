@@ -0,0 +1,340 @@
+package algoritmos;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * // Classe: ArcFlags
+ * // Descrição: Aceleração de consultas ponto a ponto por "arc-flags", que não depende
+ * //            das heurísticas h(...). Num pré-processamento, o grafo é dividido em
+ * //            regiões e cada aresta ganha uma bandeira por região: ela fica ligada se
+ * //            a aresta faz parte de ALGUM caminho mínimo até algum nó daquela região.
+ * //            Na consulta, o Dijkstra só relaxa as arestas com a bandeira da região do
+ * //            destino, ignorando as que levam "para longe" dele.
+ * //
+ * //            Como as bandeiras são calculadas:
+ * //              - arestas entre dois nós da mesma região ganham a bandeira dela;
+ * //              - para cada nó de fronteira b da região R (nó de R com aresta chegando
+ * //                de fora), um Dijkstra de trás para frente a partir de b acha as
+ * //                distâncias de todos até b; toda aresta (u, v) com d(u) = peso + d(v)
+ * //                está em um caminho mínimo até b e ganha a bandeira de R.
+ * //            As buscas de trás para frente são independentes e rodam em paralelo.
+ * //
+ * // Observação: Até 64 regiões (uma bandeira por bit de um long). O pré-processamento
+ * //            vale para o grafo como estava: se ele mudar, é preciso refazê-lo.
+ */
+public class ArcFlags {
+
+    public static final int MAX_REGIOES = Long.SIZE;
+
+    private final Grafo grafo;
+    private final int[] regiaoDoNo;
+    private final long[] bandeiras; // indexado pelo id da aresta
+    private final int regioes;
+    private final int nosFronteira;
+    private final long tempoPreprocessamentoNanos;
+
+    private ArcFlags(Grafo grafo, int[] regiaoDoNo, long[] bandeiras, int regioes, int nosFronteira, long tempoNanos) {
+        this.grafo = grafo;
+        this.regiaoDoNo = regiaoDoNo;
+        this.bandeiras = bandeiras;
+        this.regioes = regioes;
+        this.nosFronteira = nosFronteira;
+        this.tempoPreprocessamentoNanos = tempoNanos;
+    }
+
+    /**
+     * // Função: preprocessar
+     * // Descrição: Divide o grafo em regiões e calcula as bandeiras de todas as arestas.
+     * //            As regiões são montadas crescendo buscas em largura (ignorando o
+     * //            sentido das arestas) até cada uma ter cerca de n / regioes nós, o que
+     * //            deixa cada região conectada e com poucos nós de fronteira.
+     * // Entrada: grafo (Grafo) - O grafo (apenas leitura).
+     * //          regioes (int) - Quantas regiões criar (1 a 64).
+     * //          pool (ForkJoinPool) - Onde rodar as buscas de trás para frente.
+     * // Saída: O ArcFlags pronto para consultas.
+     * // Pré-Condição: Os pesos não podem ser negativos e o grafo não deve ser modificado
+     * //               durante nem depois do pré-processamento.
+     */
+    public static ArcFlags preprocessar(Grafo grafo, int regioes, ForkJoinPool pool) {
+        if (regioes < 1 || regioes > MAX_REGIOES) {
+            throw new IllegalArgumentException("O número de regiões deve estar entre 1 e " + MAX_REGIOES + ".");
+        }
+        long inicio = System.nanoTime();
+        int n = grafo.getTotalNos();
+        int totalIds = grafo.getTotalArestas();
+
+        // Arestas em vetores (por id) e a lista de entrada de cada nó, em formato compacto.
+        int[] origem = new int[totalIds];
+        int[] destino = new int[totalIds];
+        int[] peso = new int[totalIds];
+        int[] inicioEntrada = new int[n + 1];
+        Arrays.fill(origem, -1);
+        for (Aresta aresta : grafo.getTodasArestas()) {
+            origem[aresta.getId()] = aresta.getOrigem().getId();
+            destino[aresta.getId()] = aresta.getDestino().getId();
+            peso[aresta.getId()] = aresta.getPeso();
+            inicioEntrada[destino[aresta.getId()] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inicioEntrada[i + 1] += inicioEntrada[i];
+        }
+        int[] entrada = new int[inicioEntrada[n]];
+        int[] posicao = Arrays.copyOf(inicioEntrada, n);
+        for (int e = 0; e < totalIds; e++) {
+            if (origem[e] >= 0) {
+                entrada[posicao[destino[e]]++] = e;
+            }
+        }
+
+        int[] regiaoDoNo = particionar(grafo, n, origem, entrada, inicioEntrada, regioes);
+        int regioesCriadas = Arrays.stream(regiaoDoNo).max().orElse(-1) + 1;
+
+        AtomicLongArray bandeiras = new AtomicLongArray(totalIds);
+        List<Integer> fronteira = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            boolean ehFronteira = false;
+            for (int i = inicioEntrada[v]; i < inicioEntrada[v + 1]; i++) {
+                int e = entrada[i];
+                if (regiaoDoNo[origem[e]] == regiaoDoNo[v]) {
+                    bandeiras.set(e, bandeiras.get(e) | (1L << regiaoDoNo[v]));
+                } else {
+                    ehFronteira = true;
+                }
+            }
+            if (ehFronteira) {
+                fronteira.add(v);
+            }
+        }
+
+        // Uma busca de trás para frente por nó de fronteira, todas em paralelo.
+        pool.submit(() -> fronteira.parallelStream().forEach(b ->
+                marcarCaminhosAte(b, 1L << regiaoDoNo[b], n, origem, peso,
+                        entrada, inicioEntrada, bandeiras))).join();
+
+        long[] resultado = new long[totalIds];
+        for (int e = 0; e < totalIds; e++) {
+            resultado[e] = bandeiras.get(e);
+        }
+        return new ArcFlags(grafo, regiaoDoNo, resultado, regioesCriadas, fronteira.size(), System.nanoTime() - inicio);
+    }
+
+    /**
+     * // Função: particionar
+     * // Descrição: Monta as regiões com buscas em largura que crescem até o tamanho
+     * //            alvo, começando sempre pelo menor id ainda sem região.
+     * // Entrada: Os vetores de arestas do pré-processamento e o número de regiões.
+     * // Saída: A região (0 a regioes - 1) de cada nó.
+     */
+    private static int[] particionar(Grafo grafo, int n, int[] origem, int[] entrada,
+                                     int[] inicioEntrada, int regioes) {
+        int[] regiaoDoNo = new int[n];
+        Arrays.fill(regiaoDoNo, -1);
+        int tamanhoAlvo = Math.max(1, (n + regioes - 1) / regioes);
+        int regiao = 0;
+        int naRegiao = 0;
+        ArrayDeque<Integer> fila = new ArrayDeque<>();
+
+        for (int semente = 0; semente < n; semente++) {
+            if (regiaoDoNo[semente] != -1) {
+                continue;
+            }
+            fila.add(semente);
+            regiaoDoNo[semente] = regiao;
+            naRegiao++;
+
+            while (!fila.isEmpty()) {
+                int u = fila.poll();
+                // Vizinhos de saída e de entrada: a região fica conectada nos dois sentidos.
+                List<Integer> vizinhos = new ArrayList<>();
+                for (Aresta aresta : grafo.getNo(u).getArestas()) {
+                    vizinhos.add(aresta.getDestino().getId());
+                }
+                for (int i = inicioEntrada[u]; i < inicioEntrada[u + 1]; i++) {
+                    vizinhos.add(origem[entrada[i]]);
+                }
+                for (int v : vizinhos) {
+                    if (regiaoDoNo[v] == -1 && naRegiao < tamanhoAlvo) {
+                        regiaoDoNo[v] = regiao;
+                        naRegiao++;
+                        fila.add(v);
+                    }
+                }
+            }
+
+            // Região cheia: a próxima semente começa outra (a última recebe o que sobrar).
+            if (naRegiao >= tamanhoAlvo && regiao < regioes - 1) {
+                regiao++;
+                naRegiao = 0;
+            }
+        }
+        return regiaoDoNo;
+    }
+
+    /**
+     * // Função: marcarCaminhosAte
+     * // Descrição: Dijkstra de trás para frente a partir de 'alvo' (segue as arestas de
+     * //            entrada) e, no fim, liga a bandeira em toda aresta que está em algum
+     * //            caminho mínimo até 'alvo'. O estado é todo local à tarefa.
+     * //            A marcação só percorre as arestas de entrada dos nós assentados pela
+     * //            busca (uma aresta (u, v) só pode estar num caminho mínimo até 'alvo'
+     * //            se v foi alcançado), então custa o mesmo que a própria busca, e não
+     * //            uma passada por todas as arestas do grafo por nó de fronteira.
+     * // Entrada: alvo (int) - O nó de fronteira.
+     * //          bandeira (long) - O bit da região do alvo.
+     * //          O resto são os vetores compartilhados (apenas leitura) e as bandeiras.
+     * // Saída: Nenhuma (as bandeiras são atualizadas de forma atômica).
+     */
+    private static void marcarCaminhosAte(int alvo, long bandeira, int n, int[] origem, int[] peso,
+                                          int[] entrada, int[] inicioEntrada, AtomicLongArray bandeiras) {
+        int[] distancias = new int[n];
+        Arrays.fill(distancias, Integer.MAX_VALUE);
+        int[] assentados = new int[n]; // Nós na ordem em que saíram da fila
+        int totalAssentados = 0;
+        Isocrona.FilaPrimitiva fila = new Isocrona.FilaPrimitiva();
+        distancias[alvo] = 0;
+        fila.inserir(0, alvo);
+
+        while (!fila.vazia()) {
+            long item = fila.retirar();
+            int distancia = (int) (item >>> 32);
+            int v = (int) item;
+            if (distancia > distancias[v]) {
+                continue;
+            }
+            assentados[totalAssentados++] = v;
+            for (int i = inicioEntrada[v]; i < inicioEntrada[v + 1]; i++) {
+                int e = entrada[i];
+                int u = origem[e];
+                long nova = (long) distancia + peso[e];
+                if (nova < distancias[u]) {
+                    distancias[u] = (int) nova;
+                    fila.inserir((int) nova, u);
+                }
+            }
+        }
+
+        for (int k = 0; k < totalAssentados; k++) {
+            int v = assentados[k];
+            for (int i = inicioEntrada[v]; i < inicioEntrada[v + 1]; i++) {
+                int e = entrada[i];
+                int u = origem[e];
+                if ((long) distancias[v] + peso[e] == distancias[u] && (bandeiras.get(e) & bandeira) == 0) {
+                    bandeiras.getAndAccumulate(e, bandeira, (atual, bit) -> atual | bit);
+                }
+            }
+        }
+    }
+
+    /**
+     * // Função: buscar
+     * // Descrição: Dijkstra silencioso que só relaxa as arestas com a bandeira da região
+     * //            do destino. O resultado é o mesmo do Dijkstra comum (caminho mínimo),
+     * //            mas expandindo bem menos nós quando o destino está longe.
+     * // Entrada: labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó de chegada.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     * // Pré-Condição: O grafo não foi modificado desde o pré-processamento.
+     */
+    public ResultadoBusca buscar(String labelInicial, String labelFinal, AtomicBoolean cancelado) {
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+        if (noInicial == null || noFinal == null) {
+            return ResultadoBusca.naoEncontrado("Arc-flags", 0, true);
+        }
+
+        ContadorBusca contador = Metricas.iniciarBusca("Arc-flags");
+        long bandeira = 1L << regiaoDoNo[noFinal.getId()];
+        int[] distancias = new int[grafo.getTotalNos()];
+        No[] veioDe = new No[grafo.getTotalNos()];
+        Arrays.fill(distancias, Integer.MAX_VALUE);
+        Isocrona.FilaPrimitiva fronteira = new Isocrona.FilaPrimitiva();
+        distancias[noInicial.getId()] = 0;
+        fronteira.inserir(0, noInicial.getId());
+        contador.gerou();
+        int nosExpandidos = 0;
+
+        while (!fronteira.vazia()) {
+            if (cancelado.get()) {
+                contador.finalizar(false);
+                return null;
+            }
+            long item = fronteira.retirar();
+            int distancia = (int) (item >>> 32);
+            int u = (int) item;
+            if (distancia > distancias[u]) {
+                contador.descartouObsoleta();
+                continue;
+            }
+            nosExpandidos++;
+            contador.expandiu();
+
+            if (u == noFinal.getId()) {
+                contador.finalizar(true);
+                LinkedList<No> caminho = new LinkedList<>();
+                for (No no = noFinal; no != null; no = veioDe[no.getId()]) {
+                    caminho.addFirst(no);
+                }
+                return new ResultadoBusca("Arc-flags", caminho, distancias[u], nosExpandidos, true);
+            }
+
+            for (Aresta aresta : grafo.getNo(u).getArestas()) {
+                if ((bandeiras[aresta.getId()] & bandeira) == 0) {
+                    continue; // Não leva a nenhum caminho mínimo até a região do destino
+                }
+                int v = aresta.getDestino().getId();
+                long nova = (long) distancia + aresta.getPeso();
+                contador.relaxou();
+                if (nova < distancias[v]) {
+                    distancias[v] = (int) nova;
+                    veioDe[v] = grafo.getNo(u);
+                    fronteira.inserir((int) nova, v);
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(fronteira.tamanho());
+        }
+
+        contador.finalizar(false);
+        return ResultadoBusca.naoEncontrado("Arc-flags", nosExpandidos, true);
+    }
+
+    public Grafo getGrafo() {
+        return grafo;
+    }
+
+    public int getRegioes() {
+        return regioes;
+    }
+
+    public int getNosFronteira() {
+        return nosFronteira;
+    }
+
+    public long getTempoPreprocessamentoNanos() {
+        return tempoPreprocessamentoNanos;
+    }
+
+    // Fração das bandeiras (aresta x região) que ficaram ligadas: quanto menor, mais
+    // arestas a consulta consegue ignorar.
+    public double getFracaoLigada() {
+        long ligadas = 0;
+        long total = 0;
+        for (int e = 0; e < bandeiras.length; e++) {
+            if (grafo.getAresta(e) != null) {
+                ligadas += Long.bitCount(bandeiras[e]);
+                total += regioes;
+            }
+        }
+        return total == 0 ? 0 : (double) ligadas / total;
+    }
+}
@@ -0,0 +1,285 @@
+package algoritmos;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.zip.CRC32C;
+
+/**
+ * // Classe: ArvoreCaminhos
+ * // Descrição: Árvore de caminhos mínimos a partir de uma origem fixa (normalmente o
+ * //            ponto_inicial), guardada em arquivo. O Dijkstra roda UMA vez até o fim
+ * //            (sem parar no nó final) e grava a distância e o predecessor de cada nó;
+ * //            depois disso, qualquer consulta de distância ou caminho a partir dessa
+ * //            origem é só uma leitura, sem busca nenhuma.
+ * //
+ * //            O arquivo é aberto com memória mapeada (como a TabelaSimbolos.mapear) e
+ * //            guarda junto uma assinatura do grafo em memória: um CRC32C dos labels na
+ * //            ordem dos ids e, para cada nó, dos destinos e pesos das suas arestas. A
+ * //            assinatura é calculada do próprio grafo usado pelo Dijkstra (e não do
+ * //            arquivo em disco), então um arquivo salvo depois da leitura, um delta
+ * //            ou uma mudança só de peso fazem o cache ser recusado e recalculado.
+ * //
+ * //            Formato: cabeçalho (mágico, versão, assinatura do grafo, total de nós,
+ * //            total de arestas, id da origem), distâncias (total ints) e predecessores
+ * //            (total ints, -1 para a origem e para quem não é alcançado).
+ */
+public final class ArvoreCaminhos {
+
+    private static final int MAGICO = 0x41525643; // "ARVC"
+    private static final int VERSAO = 2;
+    private static final int CABECALHO = 2 * Integer.BYTES + Long.BYTES + 3 * Integer.BYTES;
+
+    private final Grafo grafo;
+    private final int origem;
+    private final IntBuffer distancias;
+    private final IntBuffer predecessores;
+    private final boolean reaproveitada;
+
+    private ArvoreCaminhos(Grafo grafo, int origem, IntBuffer distancias, IntBuffer predecessores, boolean reaproveitada) {
+        this.grafo = grafo;
+        this.origem = origem;
+        this.distancias = distancias;
+        this.predecessores = predecessores;
+        this.reaproveitada = reaproveitada;
+    }
+
+    /**
+     * // Função: abrirOuCalcular
+     * // Descrição: Usa o cache se ele existir e ainda corresponder ao grafo em memória;
+     * //            senão calcula a árvore e grava um cache novo no lugar.
+     * // Entrada: grafo (Grafo) - O grafo da busca.
+     * //          labelOrigem (String) - A origem fixa.
+     * //          arquivoCache (Path) - Onde fica o cache.
+     * // Saída: A ArvoreCaminhos pronta para consultas ('isReaproveitada' diz de onde veio).
+     * // Pré-Condição: Os pesos não podem ser negativos e o grafo não deve ser alterado
+     * //               enquanto a árvore for usada.
+     * // Lança: IOException - Se o cache existir e não puder ser lido, ou não puder ser gravado.
+     * //        IllegalArgumentException - Se a origem não existir no grafo.
+     */
+    public static ArvoreCaminhos abrirOuCalcular(Grafo grafo, String labelOrigem, Path arquivoCache) throws IOException {
+        ArvoreCaminhos arvore = abrir(grafo, labelOrigem, arquivoCache);
+        return arvore != null ? arvore : calcular(grafo, labelOrigem, arquivoCache);
+    }
+
+    /**
+     * // Função: abrir
+     * // Descrição: Abre um cache gravado antes, conferindo se ele é deste grafo e desta
+     * //            origem. As distâncias e predecessores ficam no arquivo mapeado e o
+     * //            sistema operacional carrega as páginas sob demanda.
+     * // Entrada: Os mesmos de 'abrirOuCalcular'.
+     * // Saída: A ArvoreCaminhos, ou null se o cache não existir ou for recusado (grafo
+     * //        diferente, outra origem ou arquivo truncado).
+     * // Lança: IOException - Se o cache existir mas não puder ser lido.
+     * //        IllegalArgumentException - Se a origem não existir no grafo.
+     */
+    public static ArvoreCaminhos abrir(Grafo grafo, String labelOrigem, Path arquivoCache) throws IOException {
+        int origem = idOrigem(grafo, labelOrigem);
+        if (!Files.exists(arquivoCache)) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(arquivoCache, StandardOpenOption.READ)) {
+            int total = grafo.getTotalNos();
+            if (canal.size() != CABECALHO + 2L * total * Integer.BYTES) {
+                return null;
+            }
+            MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (dados.getInt(0) != MAGICO || dados.getInt(4) != VERSAO
+                    || dados.getInt(16) != total
+                    || dados.getInt(20) != grafo.getQuantidadeArestas()
+                    || dados.getInt(24) != origem
+                    || dados.getLong(8) != assinatura(grafo)) {
+                return null;
+            }
+            IntBuffer distancias = dados.slice(CABECALHO, total * Integer.BYTES).asIntBuffer();
+            IntBuffer predecessores = dados.slice(CABECALHO + total * Integer.BYTES, total * Integer.BYTES).asIntBuffer();
+            return new ArvoreCaminhos(grafo, origem, distancias, predecessores, true);
+        }
+    }
+
+    /**
+     * // Função: calcular
+     * // Descrição: Roda o Dijkstra a partir da origem até assentar todos os nós
+     * //            alcançáveis e grava o cache. A gravação vai para um arquivo
+     * //            temporário que depois substitui o cache, então um cache pela metade
+     * //            nunca fica no lugar do antigo.
+     * // Entrada: Os mesmos de 'abrirOuCalcular'.
+     * // Saída: A ArvoreCaminhos calculada.
+     * // Lança: Os mesmos de 'abrirOuCalcular'.
+     */
+    public static ArvoreCaminhos calcular(Grafo grafo, String labelOrigem, Path arquivoCache) throws IOException {
+        int origem = idOrigem(grafo, labelOrigem);
+        int total = grafo.getTotalNos();
+        int[] distancias = new int[total];
+        int[] predecessores = new int[total];
+        Arrays.fill(distancias, Integer.MAX_VALUE);
+        Arrays.fill(predecessores, -1);
+
+        ContadorBusca contador = Metricas.iniciarBusca("Árvore de Caminhos");
+        Isocrona.FilaPrimitiva fila = new Isocrona.FilaPrimitiva();
+        distancias[origem] = 0;
+        fila.inserir(0, origem);
+        contador.gerou();
+
+        while (!fila.vazia()) {
+            long item = fila.retirar();
+            int distancia = (int) (item >>> 32);
+            int id = (int) item;
+            if (distancia > distancias[id]) {
+                contador.descartouObsoleta();
+                continue;
+            }
+            contador.expandiu();
+            for (Aresta aresta : grafo.getNo(id).getArestas()) {
+                int vizinho = aresta.getDestino().getId();
+                long nova = (long) distancia + aresta.getPeso();
+                contador.relaxou();
+                if (nova < distancias[vizinho]) {
+                    distancias[vizinho] = (int) nova;
+                    predecessores[vizinho] = id;
+                    fila.inserir((int) nova, vizinho);
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(fila.tamanho());
+        }
+        contador.finalizar(true);
+
+        gravar(grafo, origem, distancias, predecessores, arquivoCache);
+        return new ArvoreCaminhos(grafo, origem, IntBuffer.wrap(distancias), IntBuffer.wrap(predecessores), false);
+    }
+
+    private static void gravar(Grafo grafo, int origem, int[] distancias, int[] predecessores, Path arquivoCache)
+            throws IOException {
+        Path temporario = arquivoCache.resolveSibling(arquivoCache.getFileName() + ".tmp");
+        long tamanhoArquivo = CABECALHO + 2L * distancias.length * Integer.BYTES;
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer saida = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoArquivo);
+            saida.putInt(MAGICO).putInt(VERSAO).putLong(assinatura(grafo))
+                    .putInt(distancias.length).putInt(grafo.getQuantidadeArestas()).putInt(origem);
+            saida.asIntBuffer().put(distancias).put(predecessores);
+            saida.force();
+        }
+        try {
+            Files.move(temporario, arquivoCache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporario, arquivoCache, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // true se a árvore veio de um cache já gravado, false se acabou de ser calculada.
+    public boolean isReaproveitada() {
+        return reaproveitada;
+    }
+
+    public String getOrigem() {
+        return grafo.getNo(origem).getLabel();
+    }
+
+    /**
+     * // Função: distancia
+     * // Descrição: Distância mínima da origem até o nó, lida direto da árvore.
+     * // Entrada: labelDestino (String) - O nome do nó.
+     * // Saída: A distância, ou Integer.MAX_VALUE se o nó não for alcançável.
+     * // Lança: IllegalArgumentException - Se o nó não existir no grafo.
+     */
+    public int distancia(String labelDestino) {
+        return distancias.get(idNo(labelDestino));
+    }
+
+    /**
+     * // Função: caminho
+     * // Descrição: Monta o caminho mínimo seguindo os predecessores do destino até a
+     * //            origem. Como todo trecho de um caminho mínimo também é mínimo, o
+     * //            limite de fio só decide se o caminho serve ou não: é a mesma resposta
+     * //            do Dijkstra com limite.
+     * // Entrada: labelDestino (String) - O nome do nó final.
+     * //          limiteFio (int) - O custo máximo (Integer.MAX_VALUE para não limitar).
+     * // Saída: O ResultadoBusca (sem nós expandidos, já que não há busca).
+     * // Lança: IllegalArgumentException - Se o nó não existir no grafo.
+     */
+    public ResultadoBusca caminho(String labelDestino, int limiteFio) {
+        int destino = idNo(labelDestino);
+        int distancia = distancias.get(destino);
+        if (distancia == Integer.MAX_VALUE || distancia > limiteFio) {
+            return ResultadoBusca.naoEncontrado("Árvore de Caminhos", 0, true);
+        }
+        LinkedList<No> caminho = new LinkedList<>();
+        int passos = 0;
+        for (int v = destino; v >= 0; v = predecessores.get(v)) {
+            if (++passos > distancias.limit()) {
+                throw new IllegalStateException("Árvore de caminhos corrompida: predecessores em ciclo.");
+            }
+            caminho.addFirst(grafo.getNo(v));
+        }
+        return new ResultadoBusca("Árvore de Caminhos", caminho, distancia, 0, true);
+    }
+
+    private int idNo(String label) {
+        No no = grafo.getNo(label);
+        if (no == null) {
+            throw new IllegalArgumentException("Nó não existe no grafo: " + label);
+        }
+        return no.getId();
+    }
+
+    private static int idOrigem(Grafo grafo, String labelOrigem) {
+        No no = grafo.getNo(labelOrigem);
+        if (no == null) {
+            throw new IllegalArgumentException("Nó de origem não existe no grafo: " + labelOrigem);
+        }
+        return no.getId();
+    }
+
+    // CRC32C do grafo em memória, nó a nó em ordem de id: o label (garante que o id N
+    // do cache é o mesmo nó) e cada aresta que sai dele como (destino, peso). As
+    // adjacências ficam ordenadas pelo destino, então o mesmo grafo dá a mesma assinatura.
+    private static long assinatura(Grafo grafo) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer bloco = ByteBuffer.allocate(1 << 16);
+        for (int id = 0; id < grafo.getTotalNos(); id++) {
+            No no = grafo.getNo(id);
+            byte[] label = no.getLabel().getBytes(StandardCharsets.UTF_8);
+            if (bloco.remaining() < label.length + 2 * Integer.BYTES) {
+                descarregar(crc, bloco);
+            }
+            if (label.length + 2 * Integer.BYTES > bloco.capacity()) {
+                crc.update(label);
+            } else {
+                bloco.put(label);
+            }
+            bloco.putInt(-1).putInt(no.getArestas().size()); // Separa o label das arestas
+            for (Aresta aresta : no.getArestas()) {
+                if (bloco.remaining() < 2 * Integer.BYTES) {
+                    descarregar(crc, bloco);
+                }
+                bloco.putInt(aresta.getDestino().getId()).putInt(aresta.getPeso());
+            }
+        }
+        descarregar(crc, bloco);
+        return crc.getValue();
+    }
+
+    private static void descarregar(CRC32C crc, ByteBuffer bloco) {
+        bloco.flip();
+        crc.update(bloco);
+        bloco.clear();
+    }
+}
@@ -0,0 +1,217 @@
+package algoritmos;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * // Classe: BuscaMultipla
+ * // Descrição: Busca com várias origens e vários destinos em UMA passada, em vez de
+ * //            uma busca por par. Todas as origens entram na fronteira no começo com
+ * //            custo 0 (como se houvesse uma "super origem" ligada a todas), então o
+ * //            primeiro destino retirado da fronteira é o mais perto de QUALQUER
+ * //            origem. O caminho reconstruído diz qual origem venceu.
+ * //
+ * //            - primeiro: para no primeiro destino alcançado (ex: "qual dos 200
+ * //              depósitos está mais perto deste cliente"). Pode usar a heurística (A*).
+ * //            - cada: continua até alcançar todos os destinos e devolve, para cada
+ * //              um, a origem mais próxima e o caminho (Dijkstra).
+ */
+public class BuscaMultipla {
+
+    /**
+     * // Record: ResultadoMultiplo
+     * // Descrição: O par vencedor de uma busca múltipla.
+     * //   - origem (String): A origem de onde sai o caminho (null se não houver caminho).
+     * //   - destino (String): O destino alcançado (ou o destino pedido, no modo 'cada').
+     * //   - resultado (ResultadoBusca): Caminho, distância e nós expandidos.
+     */
+    public record ResultadoMultiplo(String origem, String destino, ResultadoBusca resultado) {}
+
+    /**
+     * // Record: NoPrioridade
+     * // Descrição: Entrada da fila de prioridade: o nó e sua prioridade (g, ou g + h no A*).
+     */
+    private record NoPrioridade(No no, int prioridade) implements Comparable<NoPrioridade> {
+        @Override
+        public int compareTo(NoPrioridade outro) {
+            return Integer.compare(this.prioridade, outro.prioridade);
+        }
+    }
+
+    /**
+     * // Função: primeiro
+     * // Descrição: Acha o par (origem, destino) de menor custo entre todos os pares,
+     * //            com uma única busca que começa em todas as origens ao mesmo tempo.
+     * // Entrada: grafo (Grafo) - O grafo para a busca (apenas leitura).
+     * //          origens (Collection<String>) - Os nomes dos nós de partida.
+     * //          destinos (Collection<String>) - Os nomes dos nós de chegada.
+     * //          usarHeuristica (boolean) - true para A*, false para Dijkstra.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoMultiplo do par vencedor, ou null se a busca foi cancelada.
+     * // Pré-Condição: Com heurística, h(n) não pode passar da distância de n até o
+     * //               destino MAIS PRÓXIMO (senão o resultado pode não ser ótimo). O
+     * //               LeitorArquivo já monta h(n) assim quando o arquivo tem vários
+     * //               ponto_final (a menor das linhas 'h' deles); se 'destinos' não forem
+     * //               os pontos finais do arquivo, use false. Nós que não existem no
+     * //               grafo são ignorados.
+     */
+    public static ResultadoMultiplo primeiro(Grafo grafo, Collection<String> origens, Collection<String> destinos,
+                                             boolean usarHeuristica, AtomicBoolean cancelado) {
+        String nome = usarHeuristica ? "A* multiorigem" : "Dijkstra multiorigem";
+        Estado estado = new Estado(grafo, nome, usarHeuristica, origens, destinos);
+
+        while (!estado.fronteira.isEmpty()) {
+            if (cancelado.get()) {
+                estado.contador.finalizar(false);
+                return null;
+            }
+            No atual = estado.proximo();
+            if (atual == null) {
+                continue;
+            }
+            if (estado.destinos.get(atual.getId())) {
+                estado.contador.finalizar(true);
+                return estado.resultado(atual);
+            }
+            estado.expandir(atual);
+        }
+
+        estado.contador.finalizar(false);
+        return new ResultadoMultiplo(null, null, ResultadoBusca.naoEncontrado(nome, estado.nosExpandidos, true));
+    }
+
+    /**
+     * // Função: cada
+     * // Descrição: Para cada destino, acha a origem mais próxima e o caminho, com um
+     * //            único Dijkstra que começa em todas as origens. A busca para assim que
+     * //            todos os destinos alcançáveis forem retirados da fronteira.
+     * // Entrada: grafo (Grafo) - O grafo para a busca (apenas leitura).
+     * //          origens (Collection<String>) - Os nomes dos nós de partida.
+     * //          destinos (Collection<String>) - Os nomes dos nós de chegada.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: Um ResultadoMultiplo por destino, na ordem recebida (sem caminho para os
+     * //        inalcançáveis), ou null se a busca foi cancelada.
+     */
+    public static List<ResultadoMultiplo> cada(Grafo grafo, Collection<String> origens, Collection<String> destinos,
+                                               AtomicBoolean cancelado) {
+        String nome = "Dijkstra multiorigem";
+        Estado estado = new Estado(grafo, nome, false, origens, destinos);
+        Map<String, ResultadoMultiplo> porDestino = new HashMap<>();
+        int faltam = estado.destinos.cardinality();
+
+        while (!estado.fronteira.isEmpty() && faltam > 0) {
+            if (cancelado.get()) {
+                estado.contador.finalizar(false);
+                return null;
+            }
+            No atual = estado.proximo();
+            if (atual == null) {
+                continue;
+            }
+            if (estado.destinos.get(atual.getId())) {
+                porDestino.put(atual.getLabel(), estado.resultado(atual));
+                faltam--;
+            }
+            estado.expandir(atual);
+        }
+        estado.contador.finalizar(faltam == 0);
+
+        List<ResultadoMultiplo> resultados = new ArrayList<>();
+        for (String destino : destinos) {
+            resultados.add(porDestino.getOrDefault(destino,
+                    new ResultadoMultiplo(null, destino, ResultadoBusca.naoEncontrado(nome, estado.nosExpandidos, true))));
+        }
+        return resultados;
+    }
+
+    /**
+     * // Classe: Estado
+     * // Descrição: O estado de uma busca múltipla (tudo local, o grafo só é lido):
+     * //            custos e predecessores indexados pelo id do nó, a fronteira já com
+     * //            todas as origens e o conjunto de destinos.
+     */
+    private static final class Estado {
+        final String nome;
+        final boolean usarHeuristica;
+        final int[] gScore;
+        final No[] veioDe;
+        final BitSet destinos;
+        final PriorityQueue<NoPrioridade> fronteira = new PriorityQueue<>();
+        final ContadorBusca contador;
+        int nosExpandidos = 0;
+
+        Estado(Grafo grafo, String nome, boolean usarHeuristica, Collection<String> origens, Collection<String> destinos) {
+            this.nome = nome;
+            this.usarHeuristica = usarHeuristica;
+            this.gScore = new int[grafo.getTotalNos()];
+            this.veioDe = new No[grafo.getTotalNos()];
+            this.destinos = new BitSet(grafo.getTotalNos());
+            this.contador = Metricas.iniciarBusca(nome);
+            Arrays.fill(gScore, Integer.MAX_VALUE);
+
+            for (String label : destinos) {
+                No no = grafo.getNo(label);
+                if (no != null) {
+                    this.destinos.set(no.getId());
+                }
+            }
+            for (String label : origens) {
+                No no = grafo.getNo(label);
+                if (no != null && gScore[no.getId()] != 0) {
+                    gScore[no.getId()] = 0;
+                    fronteira.add(new NoPrioridade(no, heuristica(no)));
+                    contador.gerou();
+                }
+            }
+        }
+
+        int heuristica(No no) {
+            return usarHeuristica ? no.getHeuristica() : 0;
+        }
+
+        // Retira o próximo nó da fronteira, ou null se a entrada estava desatualizada.
+        No proximo() {
+            NoPrioridade item = fronteira.poll();
+            No atual = item.no();
+            if (item.prioridade() > gScore[atual.getId()] + heuristica(atual)) {
+                contador.descartouObsoleta();
+                return null;
+            }
+            nosExpandidos++;
+            contador.expandiu();
+            return atual;
+        }
+
+        void expandir(No atual) {
+            int gAtual = gScore[atual.getId()];
+            for (Aresta aresta : atual.getArestas()) {
+                No vizinho = aresta.getDestino();
+                long tentativo = (long) gAtual + aresta.getPeso();
+                contador.relaxou();
+                if (tentativo < gScore[vizinho.getId()]) {
+                    gScore[vizinho.getId()] = (int) tentativo;
+                    veioDe[vizinho.getId()] = atual;
+                    fronteira.add(new NoPrioridade(vizinho, (int) tentativo + heuristica(vizinho)));
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(fronteira.size());
+        }
+
+        // Monta o resultado subindo pelos predecessores até a origem que venceu.
+        ResultadoMultiplo resultado(No destino) {
+            LinkedList<No> caminho = new LinkedList<>();
+            for (No no = destino; no != null; no = veioDe[no.getId()]) {
+                caminho.addFirst(no);
+            }
+            ResultadoBusca busca = new ResultadoBusca(nome, caminho, gScore[destino.getId()], nosExpandidos, true);
+            return new ResultadoMultiplo(caminho.getFirst().getLabel(), destino.getLabel(), busca);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package algoritmos;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * // Classe: BuscaProfundidade
+ * // Descrição: Motor de busca em profundidade sem objetos por passo, para grafos
+ * //            grandes. A pilha é um vetor de ints (ids dos nós) e as marcas de
+ * //            visitado são "épocas": marca[id] == epoca quer dizer visitado nesta
+ * //            busca, então começar uma busca nova é só incrementar a época, sem
+ * //            limpar nada. Os vetores são criados uma vez e reaproveitados entre
+ * //            buscas (só crescem se o grafo crescer).
+ * //
+ * //            Três modos:
+ * //            - 'buscar': DFS completa, mesma ordem de visita do DFS.buscar.
+ * //            - 'buscarLimitada': não desce além de uma profundidade (em arestas).
+ * //              A pilha guarda só o caminho atual (um quadro por nível), então a
+ * //              memória da pilha é O(profundidade).
+ * //            - 'buscarIterativa': aprofundamento iterativo: limitada com limite 0, 1,
+ * //              2, ... até achar. Devolve o caminho com MENOS arestas (não o mais
+ * //              barato), como uma busca em largura, mas com memória O(profundidade).
+ * //
+ * //            Na busca limitada, um nó só é aberto de novo se for alcançado por um
+ * //            caminho mais curto (em arestas) do que da última vez nesta rodada; isso
+ * //            evita explorar a mesma subárvore várias vezes sem perder o caminho mais raso.
+ * //
+ * // Observação: Uma instância não deve ser usada por várias threads ao mesmo tempo
+ * //            (cada thread cria a sua). O grafo não deve ser modificado durante a busca.
+ */
+public class BuscaProfundidade {
+
+    // Resultados especiais de 'limitada' quando a busca não acha o nó ou é cancelada.
+    private static final int NAO_ACHOU = -1;
+    private static final int CANCELADA = -2;
+
+    private final Grafo grafo;
+
+    private int[] marca = new int[0];          // época em que o nó foi visto
+    private int[] profundidadeVista = new int[0]; // menor profundidade em que foi visto (modo limitado)
+    private int[] arestaPai = new int[0];      // id da aresta usada para chegar no nó (DFS completa)
+    private int epoca = 0;
+
+    // Pilha da DFS completa (ids dos nós).
+    private int[] pilha = new int[64];
+
+    // Quadros da busca limitada: o nó de cada nível, a próxima aresta a tentar e a
+    // aresta usada para descer até ele.
+    private int[] caminhoNos = new int[64];
+    private int[] proximaAresta = new int[64];
+    private int[] caminhoArestas = new int[64];
+
+    public BuscaProfundidade(Grafo grafo) {
+        this.grafo = grafo;
+    }
+
+    /**
+     * // Função: buscar
+     * // Descrição: DFS completa com a pilha de ints. Como no DFS.buscar, o nó é marcado
+     * //            ao ser empilhado e os vizinhos são empilhados na ordem das arestas.
+     * // Entrada: labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó procurado.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     */
+    public ResultadoBusca buscar(String labelInicial, String labelFinal, AtomicBoolean cancelado) {
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+        if (noInicial == null || noFinal == null) {
+            return ResultadoBusca.naoEncontrado("DFS", 0, false);
+        }
+
+        ContadorBusca contador = Metricas.iniciarBusca("DFS");
+        novaEpoca();
+        int fim = noFinal.getId();
+        int topo = 0;
+        int nosVisitados = 0;
+
+        marca[noInicial.getId()] = epoca;
+        arestaPai[noInicial.getId()] = -1;
+        pilha[topo++] = noInicial.getId();
+        contador.gerou();
+
+        while (topo > 0) {
+            if (cancelado.get()) {
+                contador.finalizar(false);
+                return null;
+            }
+            int u = pilha[--topo];
+            nosVisitados++;
+            contador.expandiu();
+
+            if (u == fim) {
+                contador.finalizar(true);
+                return montarPorArestaPai(fim, nosVisitados);
+            }
+
+            List<Aresta> arestas = grafo.getNo(u).getArestas();
+            for (int i = 0, n = arestas.size(); i < n; i++) {
+                Aresta aresta = arestas.get(i);
+                int v = aresta.getDestino().getId();
+                contador.relaxou();
+                if (marca[v] != epoca) {
+                    marca[v] = epoca;
+                    arestaPai[v] = aresta.getId();
+                    if (topo == pilha.length) {
+                        pilha = Arrays.copyOf(pilha, topo * 2);
+                    }
+                    pilha[topo++] = v;
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(topo);
+        }
+
+        contador.finalizar(false);
+        return ResultadoBusca.naoEncontrado("DFS", nosVisitados, false);
+    }
+
+    /**
+     * // Função: buscarLimitada
+     * // Descrição: DFS que não desce além de 'limite' arestas a partir do início.
+     * // Entrada: labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó procurado.
+     * //          limite (int) - A profundidade máxima (em arestas).
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     * // Lança: IllegalArgumentException - Se o limite for negativo.
+     */
+    public ResultadoBusca buscarLimitada(String labelInicial, String labelFinal, int limite, AtomicBoolean cancelado) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite de profundidade não pode ser negativo.");
+        }
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+        if (noInicial == null || noFinal == null) {
+            return ResultadoBusca.naoEncontrado("DFS Limitada", 0, false);
+        }
+
+        ContadorBusca contador = Metricas.iniciarBusca("DFS Limitada");
+        Rodada rodada = new Rodada();
+        int profundidade = limitada(noInicial.getId(), noFinal.getId(), limite, rodada, contador, cancelado);
+        return concluir("DFS Limitada", profundidade, rodada, contador);
+    }
+
+    /**
+     * // Função: buscarIterativa
+     * // Descrição: Aprofundamento iterativo: repete a busca limitada com limite 0, 1,
+     * //            2, ... e para no primeiro limite em que o nó final aparece, que é o
+     * //            caminho com menos arestas. Se uma rodada terminar sem ter sido cortada
+     * //            pelo limite, o nó final não é alcançável e a busca para.
+     * // Entrada: labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó procurado.
+     * //          limiteMaximo (int) - A maior profundidade a tentar.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado (os nós expandidos somam todas as rodadas),
+     * //        ou null se a busca foi cancelada.
+     * // Lança: IllegalArgumentException - Se o limite máximo for negativo.
+     */
+    public ResultadoBusca buscarIterativa(String labelInicial, String labelFinal, int limiteMaximo, AtomicBoolean cancelado) {
+        if (limiteMaximo < 0) {
+            throw new IllegalArgumentException("O limite de profundidade não pode ser negativo.");
+        }
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+        if (noInicial == null || noFinal == null) {
+            return ResultadoBusca.naoEncontrado("DFS Iterativa", 0, false);
+        }
+
+        ContadorBusca contador = Metricas.iniciarBusca("DFS Iterativa");
+        Rodada rodada = new Rodada();
+        for (int limite = 0; limite <= limiteMaximo; limite++) {
+            rodada.cortada = false;
+            int profundidade = limitada(noInicial.getId(), noFinal.getId(), limite, rodada, contador, cancelado);
+            if (profundidade != NAO_ACHOU || !rodada.cortada) {
+                return concluir("DFS Iterativa", profundidade, rodada, contador);
+            }
+        }
+        return concluir("DFS Iterativa", NAO_ACHOU, rodada, contador);
+    }
+
+    /**
+     * // Classe: Rodada
+     * // Descrição: O que uma ou mais rodadas da busca limitada contaram.
+     */
+    private static final class Rodada {
+        int nosExpandidos = 0;
+        boolean cortada = false; // algum nó deixou de ser aberto por causa do limite
+    }
+
+    /**
+     * // Função: limitada
+     * // Descrição: Uma rodada da busca limitada. Cada nível da pilha é um quadro (nó,
+     * //            próxima aresta a tentar); descer é empilhar um quadro, e quando as
+     * //            arestas de um nó acabam o quadro é desempilhado.
+     * // Entrada: inicio (int), fim (int) - Os ids dos nós.
+     * //          limite (int) - A profundidade máxima.
+     * //          rodada (Rodada) - Onde somar os nós expandidos e anotar o corte.
+     * //          contador (ContadorBusca) - As métricas da busca.
+     * //          cancelado (AtomicBoolean) - Sinal de cancelamento.
+     * // Saída: A profundidade em que o nó final foi achado (o caminho fica nos quadros
+     * //        0..profundidade), NAO_ACHOU ou CANCELADA.
+     */
+    private int limitada(int inicio, int fim, int limite, Rodada rodada, ContadorBusca contador, AtomicBoolean cancelado) {
+        novaEpoca();
+        // O caminho na pilha nunca repete nó, então não passa de (total de nós - 1) arestas.
+        garantirQuadros(Math.min(limite, grafo.getTotalNos() - 1) + 1);
+        int nivel = 0;
+        caminhoNos[0] = inicio;
+        proximaAresta[0] = 0;
+        caminhoArestas[0] = -1;
+        marca[inicio] = epoca;
+        profundidadeVista[inicio] = 0;
+        rodada.nosExpandidos++;
+        contador.gerou();
+        contador.expandiu();
+        if (inicio == fim) {
+            return 0;
+        }
+
+        while (nivel >= 0) {
+            if (cancelado.get()) {
+                return CANCELADA;
+            }
+            int u = caminhoNos[nivel];
+            List<Aresta> arestas = grafo.getNo(u).getArestas();
+            if (proximaAresta[nivel] == arestas.size()) {
+                nivel--; // Arestas do nó esgotadas: volta um nível
+                continue;
+            }
+            Aresta aresta = arestas.get(proximaAresta[nivel]++);
+            int v = aresta.getDestino().getId();
+            int profundidadeV = nivel + 1;
+            contador.relaxou();
+
+            if (marca[v] == epoca && profundidadeVista[v] <= profundidadeV) {
+                continue; // Já aberto por um caminho tão curto quanto este
+            }
+            if (profundidadeV > limite) {
+                rodada.cortada = true;
+                continue;
+            }
+
+            marca[v] = epoca;
+            profundidadeVista[v] = profundidadeV;
+            nivel = profundidadeV;
+            caminhoNos[nivel] = v;
+            proximaAresta[nivel] = 0;
+            caminhoArestas[nivel] = aresta.getId();
+            rodada.nosExpandidos++;
+            contador.gerou();
+            contador.expandiu();
+            contador.fronteira(nivel + 1);
+            if (v == fim) {
+                return nivel;
+            }
+        }
+        return NAO_ACHOU;
+    }
+
+    private ResultadoBusca concluir(String nome, int profundidade, Rodada rodada, ContadorBusca contador) {
+        if (profundidade == CANCELADA) {
+            contador.finalizar(false);
+            return null;
+        }
+        if (profundidade == NAO_ACHOU) {
+            contador.finalizar(false);
+            return ResultadoBusca.naoEncontrado(nome, rodada.nosExpandidos, false);
+        }
+        contador.finalizar(true);
+        LinkedList<No> caminho = new LinkedList<>();
+        int custo = 0;
+        for (int nivel = 0; nivel <= profundidade; nivel++) {
+            caminho.add(grafo.getNo(caminhoNos[nivel]));
+            if (nivel > 0) {
+                custo += grafo.getAresta(caminhoArestas[nivel]).getPeso();
+            }
+        }
+        return new ResultadoBusca(nome, caminho, custo, rodada.nosExpandidos, false);
+    }
+
+    private ResultadoBusca montarPorArestaPai(int fim, int nosVisitados) {
+        LinkedList<No> caminho = new LinkedList<>();
+        int custo = 0;
+        int v = fim;
+        while (arestaPai[v] >= 0) {
+            Aresta aresta = grafo.getAresta(arestaPai[v]);
+            caminho.addFirst(grafo.getNo(v));
+            custo += aresta.getPeso();
+            v = aresta.getOrigem().getId();
+        }
+        caminho.addFirst(grafo.getNo(v));
+        return new ResultadoBusca("DFS", caminho, custo, nosVisitados, false);
+    }
+
+    // Começa uma busca nova: as marcas antigas deixam de valer sem precisar limpar.
+    private void novaEpoca() {
+        int total = grafo.getTotalNos();
+        if (marca.length < total) {
+            int tamanho = Math.max(total, marca.length * 2);
+            marca = Arrays.copyOf(marca, tamanho);
+            profundidadeVista = Arrays.copyOf(profundidadeVista, tamanho);
+            arestaPai = Arrays.copyOf(arestaPai, tamanho);
+        }
+        if (epoca == Integer.MAX_VALUE) {
+            Arrays.fill(marca, 0);
+            epoca = 0;
+        }
+        epoca++;
+    }
+
+    private void garantirQuadros(int niveis) {
+        if (caminhoNos.length < niveis) {
+            int tamanho = Math.max(niveis, caminhoNos.length * 2);
+            caminhoNos = Arrays.copyOf(caminhoNos, tamanho);
+            proximaAresta = Arrays.copyOf(proximaAresta, tamanho);
+            caminhoArestas = Arrays.copyOf(caminhoArestas, tamanho);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package algoritmos;
+
+import grafo.No;
+import grafo.VersaoGrafo;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * // Classe: BuscaVersao
+ * // Descrição: DFS, A* e Dijkstra (com limite de fio) sobre uma VersaoGrafo, a foto
+ * //            imutável publicada pelo GrafoVersionado. A busca recebe a versão que
+ * //            pegou no começo e a usa até o fim: escritas publicadas durante a busca
+ * //            não a afetam, e nenhuma trava é usada. As regras de cada algoritmo são
+ * //            as mesmas das versões silenciosas ('buscar') das classes DFS, AEstrela
+ * //            e Dijkstra; só a forma de ler o grafo muda (vetores por id do nó).
+ * //
+ * // Observação: Os laços aqui são cópias dos 'buscar' de DFS, AEstrela e Dijkstra (inclusive
+ * //            a ordem em que os vizinhos entram na pilha/fila, que decide o caminho da
+ * //            DFS e os empates do A* e do Dijkstra). Qualquer mudança lá deve ser repetida
+ * //            aqui, senão o ServidorRotas passa a responder diferente do menu.
+ */
+public class BuscaVersao {
+
+    /**
+     * // Record: NoPrioridade
+     * // Descrição: Entrada da fila de prioridade: o id do nó e sua prioridade.
+     */
+    private record NoPrioridade(int no, int prioridade) implements Comparable<NoPrioridade> {
+        @Override
+        public int compareTo(NoPrioridade outro) {
+            return Integer.compare(this.prioridade, outro.prioridade);
+        }
+    }
+
+    /**
+     * // Função: dfs
+     * // Descrição: Busca em profundidade sobre a versão, como o DFS.buscar: os vizinhos
+     * //            são empilhados na ordem das arestas, então o último a entrar (o de
+     * //            maior id de destino) é o primeiro a ser expandido.
+     * // Entrada: versao (VersaoGrafo) - A versão fixada para a busca.
+     * //          labelInicial (String), labelFinal (String) - Os nós de partida e chegada.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     */
+    public static ResultadoBusca dfs(VersaoGrafo versao, String labelInicial, String labelFinal, AtomicBoolean cancelado) {
+        int inicio = versao.buscarId(labelInicial);
+        int fim = versao.buscarId(labelFinal);
+        if (inicio < 0 || fim < 0) {
+            return ResultadoBusca.naoEncontrado("DFS", 0, false);
+        }
+
+        ContadorBusca contador = Metricas.iniciarBusca("DFS");
+        int[] predecessor = new int[versao.getTotalNos()];
+        Arrays.fill(predecessor, -1);
+        BitSet descobertos = new BitSet(versao.getTotalNos());
+        ArrayDeque<Integer> pilha = new ArrayDeque<>();
+        descobertos.set(inicio);
+        pilha.push(inicio);
+        contador.gerou();
+        int nosExpandidos = 0;
+
+        while (!pilha.isEmpty()) {
+            if (cancelado.get()) {
+                contador.finalizar(false);
+                return null;
+            }
+            int u = pilha.pop();
+            nosExpandidos++;
+            contador.expandiu();
+            if (u == fim) {
+                contador.finalizar(true);
+                return resultado(versao, "DFS", predecessor, fim, custoCaminho(versao, predecessor, fim), nosExpandidos, false);
+            }
+            for (int i = 0; i < versao.grau(u); i++) {
+                int v = versao.destino(u, i);
+                contador.relaxou();
+                if (!descobertos.get(v)) {
+                    descobertos.set(v);
+                    predecessor[v] = u;
+                    pilha.push(v);
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(pilha.size());
+        }
+
+        contador.finalizar(false);
+        return ResultadoBusca.naoEncontrado("DFS", nosExpandidos, false);
+    }
+
+    /**
+     * // Função: aEstrela
+     * // Descrição: A* sobre a versão, usando as heurísticas guardadas nela.
+     * // Entrada: versao (VersaoGrafo) - A versão fixada para a busca.
+     * //          labelInicial (String), labelFinal (String) - Os nós de partida e chegada.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     */
+    public static ResultadoBusca aEstrela(VersaoGrafo versao, String labelInicial, String labelFinal, AtomicBoolean cancelado) {
+        return melhorPrimeiro(versao, labelInicial, labelFinal, Integer.MAX_VALUE, true, "A*", cancelado);
+    }
+
+    /**
+     * // Função: dijkstra
+     * // Descrição: Dijkstra com limite de fio sobre a versão.
+     * // Entrada: versao (VersaoGrafo) - A versão fixada para a busca.
+     * //          labelInicial (String), labelFinal (String) - Os nós de partida e chegada.
+     * //          limiteFio (int) - O custo máximo do caminho (Integer.MAX_VALUE para não limitar).
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     */
+    public static ResultadoBusca dijkstra(VersaoGrafo versao, String labelInicial, String labelFinal, int limiteFio,
+                                          AtomicBoolean cancelado) {
+        return melhorPrimeiro(versao, labelInicial, labelFinal, limiteFio, false, "Dijkstra", cancelado);
+    }
+
+    private static ResultadoBusca melhorPrimeiro(VersaoGrafo versao, String labelInicial, String labelFinal, int limite,
+                                                 boolean usarHeuristica, String nome, AtomicBoolean cancelado) {
+        int inicio = versao.buscarId(labelInicial);
+        int fim = versao.buscarId(labelFinal);
+        if (inicio < 0 || fim < 0) {
+            return ResultadoBusca.naoEncontrado(nome, 0, true);
+        }
+
+        ContadorBusca contador = Metricas.iniciarBusca(nome);
+        int[] gScore = new int[versao.getTotalNos()];
+        int[] predecessor = new int[versao.getTotalNos()];
+        Arrays.fill(gScore, Integer.MAX_VALUE);
+        Arrays.fill(predecessor, -1);
+        PriorityQueue<NoPrioridade> fronteira = new PriorityQueue<>();
+        gScore[inicio] = 0;
+        fronteira.add(new NoPrioridade(inicio, usarHeuristica ? versao.heuristica(inicio) : 0));
+        contador.gerou();
+        int nosExpandidos = 0;
+
+        while (!fronteira.isEmpty()) {
+            if (cancelado.get()) {
+                contador.finalizar(false);
+                return null;
+            }
+            NoPrioridade item = fronteira.poll();
+            int u = item.no();
+            int h = usarHeuristica ? versao.heuristica(u) : 0;
+            if (item.prioridade() > gScore[u] + h) {
+                contador.descartouObsoleta();
+                continue;
+            }
+            nosExpandidos++;
+            contador.expandiu();
+
+            if (u == fim) {
+                contador.finalizar(true);
+                return resultado(versao, nome, predecessor, fim, gScore[fim], nosExpandidos, true);
+            }
+
+            for (int i = 0; i < versao.grau(u); i++) {
+                int v = versao.destino(u, i);
+                long tentativo = (long) gScore[u] + versao.peso(u, i);
+                contador.relaxou();
+                if (tentativo <= limite && tentativo < gScore[v]) {
+                    gScore[v] = (int) tentativo;
+                    predecessor[v] = u;
+                    fronteira.add(new NoPrioridade(v, (int) tentativo + (usarHeuristica ? versao.heuristica(v) : 0)));
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(fronteira.size());
+        }
+
+        contador.finalizar(false);
+        return ResultadoBusca.naoEncontrado(nome, nosExpandidos, true);
+    }
+
+    private static int custoCaminho(VersaoGrafo versao, int[] predecessor, int fim) {
+        int custo = 0;
+        for (int v = fim; predecessor[v] >= 0; v = predecessor[v]) {
+            custo += versao.pesoAresta(predecessor[v], v);
+        }
+        return custo;
+    }
+
+    private static ResultadoBusca resultado(VersaoGrafo versao, String nome, int[] predecessor, int fim,
+                                            int distancia, int nosExpandidos, boolean otimo) {
+        LinkedList<No> caminho = new LinkedList<>();
+        for (int v = fim; v >= 0; v = predecessor[v]) {
+            caminho.addFirst(versao.no(v));
+        }
+        return new ResultadoBusca(nome, caminho, distancia, nosExpandidos, otimo);
+    }
+}
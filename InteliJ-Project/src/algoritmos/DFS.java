@@ -3,8 +3,11 @@ package algoritmos;
 import grafo.Aresta;
 import grafo.Grafo;
 import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +42,7 @@ public class DFS {
         for (No no : grafo.getTodosNos()) {
             no.setCor(No.Cor.BRANCO);
             no.setPredecessor(null);
+            no.setIdArestaPredecessora(-1);
         }
 
         No noInicial = grafo.getNo(labelInicial);
@@ -77,6 +81,7 @@ public class DFS {
                 if (v.getCor() == No.Cor.BRANCO) { // Se o vizinho ainda não foi visitado...
                     v.setCor(No.Cor.CINZA); // Marca ele como "sendo visitado"
                     v.setPredecessor(u); // Anota que chegamos em 'v' a partir de 'u'
+                    v.setIdArestaPredecessora(aresta.getId()); // ... e por qual aresta
                     pilha.push(v); // Adiciona na pilha para ser o próximo a ser explorado
                 }
             }
@@ -90,7 +95,95 @@ public class DFS {
         }
 
         System.out.println("\nFim da execução");
-        imprimirResultadoFinal(noFinal, nosVisitados);
+        imprimirResultadoFinal(grafo, noFinal, nosVisitados);
+    }
+
+    /**
+     * // Função: buscar
+     * // Descrição: Versão silenciosa do DFS, sem pausas nem impressão. Diferente do
+     * //            'executar', ela não altera a cor nem o predecessor dos nós: todo o
+     * //            estado fica em coleções locais, então várias buscas podem rodar ao
+     * //            mesmo tempo sobre o mesmo grafo.
+     * // Entrada: grafo (Grafo) - O grafo onde a busca será feita (apenas leitura).
+     * //          labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó que estamos procurando.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     * // Pré-Condição: O grafo não deve ser modificado durante a busca.
+     * // Pós-Condição: O grafo permanece inalterado.
+     */
+    public static ResultadoBusca buscar(Grafo grafo, String labelInicial, String labelFinal, AtomicBoolean cancelado) {
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+
+        if (noInicial == null || noFinal == null) {
+            return ResultadoBusca.naoEncontrado("DFS", 0, false);
+        }
+
+        ContadorBusca contador = Metricas.iniciarBusca("DFS");
+        Map<No, Aresta> arestaPredecessora = new HashMap<>();
+        Set<No> descobertos = new HashSet<>();
+        Deque<No> pilha = new ArrayDeque<>();
+        int nosVisitados = 0;
+
+        descobertos.add(noInicial);
+        pilha.push(noInicial);
+        contador.gerou();
+
+        while (!pilha.isEmpty()) {
+            if (cancelado.get()) {
+                contador.finalizar(false);
+                return null;
+            }
+
+            No u = pilha.pop();
+            nosVisitados++;
+            contador.expandiu();
+
+            if (u.equals(noFinal)) {
+                contador.finalizar(true);
+                return montarResultado(arestaPredecessora, noFinal, nosVisitados);
+            }
+
+            for (Aresta aresta : u.getArestas()) {
+                No v = aresta.getDestino();
+                contador.relaxou();
+                if (descobertos.add(v)) {
+                    arestaPredecessora.put(v, aresta);
+                    pilha.push(v);
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(pilha.size());
+        }
+
+        contador.finalizar(false);
+        return ResultadoBusca.naoEncontrado("DFS", nosVisitados, false);
+    }
+
+    /**
+     * // Função: montarResultado
+     * // Descrição: Reconstrói o caminho da busca silenciosa a partir da aresta usada
+     * //            para chegar em cada nó, somando o peso dessas arestas (O(tamanho do caminho)).
+     * // Entrada: arestaPredecessora (Map) - Por qual aresta chegamos em cada nó.
+     * //          noFinal (No) - O nó objetivo, já alcançado.
+     * //          nosVisitados (int) - Total de nós processados.
+     * // Saída: O ResultadoBusca com o caminho e seu custo.
+     */
+    private static ResultadoBusca montarResultado(Map<No, Aresta> arestaPredecessora, No noFinal, int nosVisitados) {
+        LinkedList<No> caminho = new LinkedList<>();
+        int custoTotal = 0;
+        No temp = noFinal;
+
+        Aresta aresta;
+        while ((aresta = arestaPredecessora.get(temp)) != null) {
+            caminho.addFirst(temp);
+            custoTotal += aresta.getPeso();
+            temp = aresta.getOrigem();
+        }
+        caminho.addFirst(temp);
+
+        return new ResultadoBusca("DFS", caminho, custoTotal, nosVisitados, false);
     }
 
     /**
@@ -115,13 +208,14 @@ public class DFS {
      * // Descrição: Monta e exibe o resultado final da busca. Se um caminho foi
      * //            encontrado, ele volta do nó final até o inicial (usando os
      * //            predecessores) para reconstruir a rota e calcular o custo total.
-     * // Entrada: noFinal (No) - O nó de destino ao término da busca.
+     * // Entrada: grafo (Grafo) - O grafo da busca (para consultar as arestas pelo id).
+     * //          noFinal (No) - O nó de destino ao término da busca.
      * //          nosVisitados (int) - Total de nós processados pelo algoritmo.
      * // Saída: Nenhuma (imprime o resumo do resultado no console).
      * // Pré-Condição: O algoritmo DFS principal deve ter terminado sua execução.
      * // Pós-Condição: O resultado da busca é apresentado de forma clara para o usuário.
      */
-    private static void imprimirResultadoFinal(No noFinal, int nosVisitados) {
+    private static void imprimirResultadoFinal(Grafo grafo, No noFinal, int nosVisitados) {
         // Se o nó final não tem predecessor, significa que ele nunca foi alcançado.
         if (noFinal.getPredecessor() == null && !noFinal.getCor().equals(No.Cor.CINZA)) {
             System.out.println("Caminho não encontrado.");
@@ -135,15 +229,9 @@ public class DFS {
         // Volta de "trás pra frente" (do final para o início) para montar o caminho
         while (temp.getPredecessor() != null) {
             caminho.addFirst(temp); // Adiciona no início da lista para inverter a ordem
-            No pai = temp.getPredecessor();
-            // Pega o peso da aresta entre o pai e o filho (temp)
-            for(Aresta a : pai.getArestas()){
-                if(a.getDestino().equals(temp)){
-                    custoTotal += a.getPeso();
-                    break;
-                }
-            }
-            temp = pai;
+            // Pega o peso da aresta entre o pai e o filho (temp) direto pelo id
+            custoTotal += grafo.getAresta(temp.getIdArestaPredecessora()).getPeso();
+            temp = temp.getPredecessor();
         }
         caminho.addFirst(temp); // Adiciona o nó inicial, que não tem predecessor
 
@@ -3,8 +3,12 @@ package algoritmos;
 import grafo.Aresta;
 import grafo.Grafo;
 import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+import rastreio.GravadorRastreio;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -31,12 +35,28 @@ public class Dijkstra {
         }
     }
 
+    /**
+     * // Record: EntradaLista
+     * // Descrição: Item da lista de controle do modo interativo. 'ordem' desempata itens
+     * //            com a mesma distância pela ordem de inserção, para que a lista fique em
+     * //            um conjunto ordenado (TreeSet) e seja impressa sem ser copiada e
+     * //            ordenada a cada iteração.
+     */
+    private record EntradaLista(No no, int distancia, long ordem) implements Comparable<EntradaLista> {
+        @Override
+        public int compareTo(EntradaLista outra) {
+            int comparacao = Integer.compare(this.distancia, outra.distancia);
+            return comparacao != 0 ? comparacao : Long.compare(this.ordem, outra.ordem);
+        }
+    }
+
     /**
      * // Função: executar
      * // Descrição: Roda o algoritmo de Dijkstra para achar o caminho mais curto entre dois nós,
      * //            mas com a restrição de que o custo total não pode passar do 'limiteFio'.
-     * //            Ele usa uma Fila de Prioridade para sempre explorar o nó mais próximo da
-     * //            origem. A cada passo, ele verifica se o caminho até um vizinho é mais curto
+     * //            Ele usa um conjunto ordenado (TreeSet) como lista de controle para sempre
+     * //            explorar o nó mais próximo da origem; como a lista já está em ordem, cada
+     * //            passo a imprime só percorrendo-a. A cada passo, ele verifica se o caminho até um vizinho é mais curto
      * //            que o já conhecido E se ele não estoura o limite de fio.
      * // Entrada: grafo (Grafo) - O grafo para a busca.
      * //          labelInicial (String) - O nome do nó de partida.
@@ -56,8 +76,9 @@ public class Dijkstra {
         Map<No, Integer> distancias = new HashMap<>();
         // Mapa para reconstruir o caminho no final.
         Map<No, No> predecessores = new HashMap<>();
-        // Fila de Prioridade que sempre nos dará o nó mais próximo para visitar.
-        PriorityQueue<NoDijkstra> fronteira = new PriorityQueue<>();
+        // Lista de controle ordenada que sempre nos dará o nó mais próximo para visitar.
+        TreeSet<EntradaLista> fronteira = new TreeSet<>();
+        long ordem = 0;
 
         // Inicialização: todas as distâncias começam como infinito.
         for (No no : grafo.getTodosNos()) {
@@ -65,7 +86,7 @@ public class Dijkstra {
         }
         // A distância do início até ele mesmo é 0.
         distancias.put(noInicial, 0);
-        fronteira.add(new NoDijkstra(noInicial, 0));
+        fronteira.add(new EntradaLista(noInicial, 0, ordem++));
 
         System.out.println("Início da execução do Dijkstra com limite de fio");
         int iteracao = 0;
@@ -77,8 +98,7 @@ public class Dijkstra {
             imprimirListaDeControle(fronteira);
 
             // Pega o nó com a menor distância da fila.
-            NoDijkstra itemAtual = fronteira.poll();
-            assert itemAtual != null;
+            EntradaLista itemAtual = fronteira.pollFirst();
             No noAtual = itemAtual.no();
             int distanciaAtual = itemAtual.distancia();
 
@@ -115,7 +135,7 @@ public class Dijkstra {
                     // ...atualizamos as informações.
                     distancias.put(vizinho, novaDistancia);
                     predecessores.put(vizinho, noAtual);
-                    fronteira.add(new NoDijkstra(vizinho, novaDistancia));
+                    fronteira.add(new EntradaLista(vizinho, novaDistancia, ordem++));
                 }
             }
 
@@ -127,26 +147,169 @@ public class Dijkstra {
         imprimirResultadoFinal(distancias, predecessores, noFinal, nosExpandidos);
     }
 
+    /**
+     * // Função: buscar
+     * // Descrição: Versão silenciosa do Dijkstra com limite de fio, sem pausas nem
+     * //            impressão. Todo o estado é local, então o grafo só é lido e pode
+     * //            ser compartilhado por várias buscas ao mesmo tempo.
+     * // Entrada: grafo (Grafo) - O grafo para a busca.
+     * //          labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó de chegada.
+     * //          limiteFio (int) - O custo máximo que o caminho pode ter
+     * //                            (Integer.MAX_VALUE para não limitar).
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     * // Pré-Condição: O grafo não deve ser modificado durante a busca.
+     * // Pós-Condição: O grafo permanece inalterado.
+     */
+    public static ResultadoBusca buscar(Grafo grafo, String labelInicial, String labelFinal, int limiteFio, AtomicBoolean cancelado) {
+        return buscar(grafo, labelInicial, labelFinal, limiteFio, cancelado, GravadorRastreio.desligado());
+    }
+
+    /**
+     * // Função: buscar
+     * // Descrição: Igual à versão acima, mas registra o passo a passo (push, pop,
+     * //            relaxamentos e descartes por falta de fio) no gravador de rastreio,
+     * //            para que a lista de controle possa ser reproduzida depois.
+     * // Entrada: As mesmas da versão acima, mais:
+     * //          rastreio (GravadorRastreio) - Onde gravar os eventos da busca.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     */
+    public static ResultadoBusca buscar(Grafo grafo, String labelInicial, String labelFinal, int limiteFio,
+                                        AtomicBoolean cancelado, GravadorRastreio rastreio) {
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+
+        if (noInicial == null || noFinal == null) {
+            return ResultadoBusca.naoEncontrado("Dijkstra", 0, true);
+        }
+        return buscar(noInicial, noFinal, limiteFio, null, null, cancelado, rastreio);
+    }
+
+    /**
+     * // Função: buscarComMascara
+     * // Descrição: Dijkstra silencioso que ignora alguns nós e arestas do grafo, sem
+     * //            copiá-lo nem alterá-lo. Cada busca tem suas próprias máscaras, então
+     * //            várias buscas com máscaras diferentes podem rodar ao mesmo tempo sobre
+     * //            o mesmo grafo (é o que o KCaminhos faz nas buscas de desvio).
+     * // Entrada: noInicial (No) - O nó de partida.
+     * //          noFinal (No) - O nó de chegada.
+     * //          nosBloqueados (BitSet) - Ids dos nós que não podem ser visitados (ou null).
+     * //          arestasBloqueadas (BitSet) - Ids das arestas que não podem ser usadas (ou null).
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a busca antes do fim.
+     * // Saída: O ResultadoBusca encontrado, ou null se a busca foi cancelada.
+     * // Pré-Condição: O grafo não deve ser modificado durante a busca.
+     */
+    public static ResultadoBusca buscarComMascara(No noInicial, No noFinal, BitSet nosBloqueados,
+                                                  BitSet arestasBloqueadas, AtomicBoolean cancelado) {
+        return buscar(noInicial, noFinal, Integer.MAX_VALUE, nosBloqueados, arestasBloqueadas,
+                cancelado, GravadorRastreio.desligado());
+    }
+
+    private static ResultadoBusca buscar(No noInicial, No noFinal, int limiteFio, BitSet nosBloqueados,
+                                         BitSet arestasBloqueadas, AtomicBoolean cancelado, GravadorRastreio rastreio) {
+        ContadorBusca contador = Metricas.iniciarBusca("Dijkstra");
+        Map<No, Integer> distancias = new HashMap<>();
+        Map<No, No> predecessores = new HashMap<>();
+        PriorityQueue<NoDijkstra> fronteira = new PriorityQueue<>();
+
+        distancias.put(noInicial, 0);
+        fronteira.add(new NoDijkstra(noInicial, 0));
+        contador.gerou();
+        rastreio.inicio(noInicial.getId(), GravadorRastreio.ALGORITMO_DIJKSTRA, noFinal.getId());
+        rastreio.push(noInicial.getId(), 0, 0);
+        int nosExpandidos = 0;
+
+        while (!fronteira.isEmpty()) {
+            if (cancelado.get()) {
+                contador.finalizar(false);
+                return null;
+            }
+
+            NoDijkstra itemAtual = fronteira.poll();
+            No noAtual = itemAtual.no();
+            int distanciaAtual = itemAtual.distancia();
+            rastreio.pop(noAtual.getId(), distanciaAtual, distanciaAtual);
+
+            if (distanciaAtual > distancias.get(noAtual)) {
+                contador.descartouObsoleta();
+                rastreio.poda(noAtual.getId(), distanciaAtual, GravadorRastreio.MOTIVO_OBSOLETO);
+                continue;
+            }
+            nosExpandidos++;
+            contador.expandiu();
+
+            if (noAtual.equals(noFinal)) {
+                contador.finalizar(true);
+                rastreio.fim(noAtual.getId(), distanciaAtual, nosExpandidos);
+                List<No> caminho = reconstruirCaminho(predecessores, noFinal);
+                return new ResultadoBusca("Dijkstra", caminho, distanciaAtual, nosExpandidos, true);
+            }
+
+            for (Aresta aresta : noAtual.getArestas()) {
+                No vizinho = aresta.getDestino();
+                if ((arestasBloqueadas != null && arestasBloqueadas.get(aresta.getId()))
+                        || (nosBloqueados != null && nosBloqueados.get(vizinho.getId()))) {
+                    continue;
+                }
+                // Soma em long para não estourar quando o limite é Integer.MAX_VALUE.
+                long novaDistancia = (long) distanciaAtual + aresta.getPeso();
+                contador.relaxou();
+                rastreio.relaxa(vizinho.getId(), (int) Math.min(novaDistancia, Integer.MAX_VALUE), noAtual.getId());
+
+                if (novaDistancia > limiteFio) {
+                    rastreio.poda(vizinho.getId(), (int) Math.min(novaDistancia, Integer.MAX_VALUE), GravadorRastreio.MOTIVO_LIMITE);
+                } else if (novaDistancia < distancias.getOrDefault(vizinho, Integer.MAX_VALUE)) {
+                    distancias.put(vizinho, (int) novaDistancia);
+                    predecessores.put(vizinho, noAtual);
+                    fronteira.add(new NoDijkstra(vizinho, (int) novaDistancia));
+                    contador.gerou();
+                    rastreio.push(vizinho.getId(), (int) novaDistancia, (int) novaDistancia);
+                }
+            }
+            contador.fronteira(fronteira.size());
+        }
+
+        contador.finalizar(false);
+        rastreio.fim(-1, -1, nosExpandidos);
+        return ResultadoBusca.naoEncontrado("Dijkstra", nosExpandidos, true);
+    }
+
+    /**
+     * // Função: reconstruirCaminho
+     * // Descrição: Volta do nó final até o inicial usando o mapa de predecessores.
+     * // Entrada: predecessores (Map) - Mapa de predecessores da busca.
+     * //          noFinal (No) - O nó de destino.
+     * // Saída: A lista de nós do início até 'noFinal'.
+     */
+    private static List<No> reconstruirCaminho(Map<No, No> predecessores, No noFinal) {
+        LinkedList<No> caminho = new LinkedList<>();
+        No temp = noFinal;
+        while (temp != null) {
+            caminho.addFirst(temp);
+            temp = predecessores.get(temp);
+        }
+        return caminho;
+    }
+
     /**
      * // Função: imprimirListaDeControle
-     * // Descrição: Função auxiliar que mostra o estado atual da Fila de Prioridade.
+     * // Descrição: Função auxiliar que mostra o estado atual da lista de controle.
      * //            É útil para depurar e entender o comportamento do algoritmo passo a passo.
-     * // Entrada: fronteira (Queue<NoDijkstra>) - A Fila de Prioridade do algoritmo.
+     * //            A lista já está ordenada, então é só percorrida (nada é copiado).
+     * // Entrada: fronteira (TreeSet<EntradaLista>) - A lista de controle do algoritmo.
      * // Saída: Nenhuma (imprime a lista formatada no console).
      * // Pré-Condição: A fila não deve ser nula.
      * // Pós-Condição: O conteúdo da fila é exibido de forma ordenada.
      */
-    private static void imprimirListaDeControle(Queue<NoDijkstra> fronteira) {
+    private static void imprimirListaDeControle(TreeSet<EntradaLista> fronteira) {
         System.out.print("Lista: ");
         if (fronteira.isEmpty()) {
             System.out.println("[]");
             return;
         }
 
-        List<NoDijkstra> listaOrdenada = new ArrayList<>(fronteira);
-        Collections.sort(listaOrdenada);
-
-        for (NoDijkstra item : listaOrdenada) {
+        for (EntradaLista item : fronteira) {
             System.out.printf("(%s: %d) ", item.no().getLabel(), item.distancia());
         }
         System.out.println();
@@ -175,13 +338,8 @@ public class Dijkstra {
         }
 
         System.out.println("Distância: " + distanciaFinal);
-        List<No> caminho = new LinkedList<>();
-        No temp = noFinal;
         // Volta do fim para o começo para montar o caminho na ordem correta.
-        while (temp != null) {
-            caminho.addFirst(temp);
-            temp = predecessores.get(temp);
-        }
+        List<No> caminho = reconstruirCaminho(predecessores, noFinal);
 
         String caminhoStr = caminho.stream()
                 .map(No::getLabel)
@@ -0,0 +1,424 @@
+package algoritmos;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+
+import java.util.*;
+
+/**
+ * // Classe: DijkstraDinamico
+ * // Descrição: Mantém a árvore de caminhos mínimos a partir de uma origem fixa (ex: o
+ * //            ponto_inicial, o "depósito") e a conserta quando arestas são
+ * //            adicionadas, removidas ou mudam de peso, em vez de rodar o Dijkstra
+ * //            inteiro de novo a cada mudança.
+ * //
+ * //            - Aresta nova ou mais barata: só os nós que ficam mais perto por causa
+ * //              dela são atualizados (um Dijkstra que começa na própria aresta).
+ * //            - Aresta removida ou mais cara: se ela não faz parte da árvore, nada
+ * //              muda. Se faz, só a subárvore pendurada nela perde as distâncias; cada
+ * //              nó dessa subárvore procura o melhor pai entre os vizinhos de entrada
+ * //              que não foram afetados, e o Dijkstra termina o conserto só ali.
+ * //
+ * //            Depois disso, a distância até qualquer nó sai em O(1) e o caminho em
+ * //            O(tamanho do caminho), seguindo as arestas-pai da árvore.
+ * //
+ * // Observação: As mudanças no grafo devem passar por esta classe (que também altera
+ * //            o Grafo); mudanças feitas por fora deixam a árvore desatualizada. Os
+ * //            pesos não podem ser negativos. A classe não é segura para várias threads.
+ */
+public class DijkstraDinamico {
+
+    private static final int INFINITO = Integer.MAX_VALUE;
+    private static final int NENHUM = -1;
+
+    /**
+     * // Record: NoDistancia
+     * // Descrição: Entrada da fila de prioridade do conserto: o id do nó e a distância
+     * //            com que ele entrou. Entradas desatualizadas são ignoradas ao sair.
+     */
+    private record NoDistancia(int no, int distancia) implements Comparable<NoDistancia> {
+        @Override
+        public int compareTo(NoDistancia outro) {
+            return Integer.compare(this.distancia, outro.distancia);
+        }
+    }
+
+    private final Grafo grafo;
+    private final No origem;
+
+    // Estado da árvore, indexado pelo id do nó.
+    private int[] distancias;
+    private Aresta[] arestaPai;
+    // Filhos de cada nó na árvore, como lista ligada dupla de irmãos.
+    private int[] primeiroFilho;
+    private int[] proximoIrmao;
+    private int[] irmaoAnterior;
+
+    // Arestas que chegam em cada nó (o Grafo só guarda as que saem).
+    private final List<List<Aresta>> arestasEntrada = new ArrayList<>();
+
+    private int nosReassentados;
+
+    /**
+     * // Função: DijkstraDinamico (construtor)
+     * // Descrição: Monta a árvore de caminhos mínimos inicial com um Dijkstra completo
+     * //            a partir da origem.
+     * // Entrada: grafo (Grafo) - O grafo (será alterado pelas atualizações desta classe).
+     * //          labelOrigem (String) - O nome do nó de origem.
+     * // Lança: IllegalArgumentException - Se a origem não existir no grafo.
+     */
+    public DijkstraDinamico(Grafo grafo, String labelOrigem) {
+        this.grafo = grafo;
+        this.origem = grafo.getNo(labelOrigem);
+        if (origem == null) {
+            throw new IllegalArgumentException("Nó de origem não existe no grafo: " + labelOrigem);
+        }
+
+        int n = grafo.getTotalNos();
+        distancias = new int[0];
+        arestaPai = new Aresta[0];
+        primeiroFilho = new int[0];
+        proximoIrmao = new int[0];
+        irmaoAnterior = new int[0];
+        garantirCapacidade(n);
+        for (Aresta aresta : grafo.getTodasArestas()) {
+            arestasEntrada.get(aresta.getDestino().getId()).add(aresta);
+        }
+
+        PriorityQueue<NoDistancia> fila = new PriorityQueue<>();
+        distancias[origem.getId()] = 0;
+        fila.add(new NoDistancia(origem.getId(), 0));
+        propagar(fila, "Dijkstra dinâmico (inicial)");
+    }
+
+    /**
+     * // Função: distancia
+     * // Descrição: Distância mínima da origem até o nó, em O(1).
+     * // Entrada: label (String) - O nome do nó.
+     * // Saída: A distância, ou Integer.MAX_VALUE se o nó não existir ou não for alcançável.
+     */
+    public int distancia(String label) {
+        No no = grafo.getNo(label);
+        return no == null || no.getId() >= distancias.length ? INFINITO : distancias[no.getId()];
+    }
+
+    /**
+     * // Função: caminho
+     * // Descrição: Caminho mínimo da origem até o nó, montado subindo pelas arestas-pai
+     * //            da árvore (custo proporcional ao tamanho do caminho).
+     * // Entrada: label (String) - O nome do nó de destino.
+     * // Saída: O ResultadoBusca com o caminho (vazio se não houver). 'nosExpandidos'
+     * //        é 0, pois a consulta não expande nós.
+     */
+    public ResultadoBusca caminho(String label) {
+        int distancia = distancia(label);
+        if (distancia == INFINITO) {
+            return ResultadoBusca.naoEncontrado("Dijkstra dinâmico", 0, true);
+        }
+        LinkedList<No> caminho = new LinkedList<>();
+        No atual = grafo.getNo(label);
+        while (atual != null) {
+            caminho.addFirst(atual);
+            Aresta pai = arestaPai[atual.getId()];
+            atual = pai == null ? null : pai.getOrigem();
+        }
+        return new ResultadoBusca("Dijkstra dinâmico", caminho, distancia, 0, true);
+    }
+
+    public No getOrigem() {
+        return origem;
+    }
+
+    // Um peso negativo (ex: numa aresta de ida e volta) cria um ciclo negativo e a
+    // propagação das melhoras não terminaria.
+    private static void validarPeso(int peso) {
+        if (peso < 0) {
+            throw new IllegalArgumentException("O peso não pode ser negativo: " + peso);
+        }
+    }
+
+    // Quantos nós tiveram a distância recalculada na última atualização.
+    public int getNosReassentados() {
+        return nosReassentados;
+    }
+
+    /**
+     * // Função: adicionarAresta
+     * // Descrição: Adiciona a aresta ao grafo (como um 'pode_ir': se já existir, fica o
+     * //            menor peso) e atualiza os nós que passam a ficar mais perto.
+     * // Entrada: labelOrigem (String), labelDestino (String) - Os nós ligados (são
+     * //          criados se não existirem).
+     * //          peso (int) - O custo da aresta (>= 0).
+     * // Saída: Nenhuma.
+     * // Lança: IllegalArgumentException - Se o peso for negativo (o grafo não é alterado).
+     */
+    public void adicionarAresta(String labelOrigem, String labelDestino, int peso) {
+        validarPeso(peso);
+        grafo.setAresta(labelOrigem, labelDestino, peso);
+        garantirCapacidade(grafo.getTotalNos());
+        consertarDiminuicao(registrarArestas(labelOrigem, labelDestino));
+    }
+
+    /**
+     * // Função: removerAresta
+     * // Descrição: Remove a aresta do grafo (e a volta, se ele não for orientado) e,
+     * //            se ela fazia parte da árvore, conserta a subárvore que dependia dela.
+     * // Entrada: labelOrigem (String), labelDestino (String) - Os nós ligados.
+     * // Saída: true se a aresta existia.
+     */
+    public boolean removerAresta(String labelOrigem, String labelDestino) {
+        No noOrigem = grafo.getNo(labelOrigem);
+        No noDestino = grafo.getNo(labelDestino);
+        if (noOrigem == null || noDestino == null) {
+            return false;
+        }
+        List<Aresta> removidas = arestasEntre(noOrigem.getId(), noDestino.getId());
+        if (!grafo.removerAresta(noOrigem.getId(), noDestino.getId())) {
+            return false;
+        }
+        for (Aresta aresta : removidas) {
+            arestasEntrada.get(aresta.getDestino().getId()).remove(aresta);
+        }
+        consertarAumento(removidas);
+        return true;
+    }
+
+    /**
+     * // Função: alterarPeso
+     * // Descrição: Muda o peso da aresta (criando-a se não existir) e conserta a árvore:
+     * //            se o peso diminuiu, propaga a melhora; se aumentou e a aresta estava
+     * //            na árvore, recalcula só a subárvore abaixo dela.
+     * // Entrada: labelOrigem (String), labelDestino (String) - Os nós ligados.
+     * //          peso (int) - O novo custo da aresta (>= 0).
+     * // Saída: Nenhuma.
+     * // Lança: IllegalArgumentException - Se o peso for negativo (o grafo não é alterado).
+     */
+    public void alterarPeso(String labelOrigem, String labelDestino, int peso) {
+        validarPeso(peso);
+        No noOrigem = grafo.getNo(labelOrigem);
+        No noDestino = grafo.getNo(labelDestino);
+        Aresta atual = (noOrigem == null || noDestino == null)
+                ? null : grafo.getAresta(noOrigem.getId(), noDestino.getId());
+        if (atual == null || peso < atual.getPeso()) {
+            // Aresta nova ou mais barata: igual a uma inserção, mas sem manter o peso menor.
+            int idOrigem = grafo.obterNo(labelOrigem, 0, labelOrigem.length());
+            int idDestino = grafo.obterNo(labelDestino, 0, labelDestino.length());
+            grafo.alterarPeso(idOrigem, idDestino, peso);
+            garantirCapacidade(grafo.getTotalNos());
+            consertarDiminuicao(registrarArestas(labelOrigem, labelDestino));
+        } else if (peso > atual.getPeso()) {
+            List<Aresta> alteradas = arestasEntre(noOrigem.getId(), noDestino.getId());
+            grafo.alterarPeso(noOrigem.getId(), noDestino.getId(), peso);
+            consertarAumento(alteradas);
+        } else {
+            nosReassentados = 0;
+        }
+    }
+
+    // A aresta origem -> destino e, em grafo não orientado, a volta.
+    private List<Aresta> arestasEntre(int idOrigem, int idDestino) {
+        List<Aresta> arestas = new ArrayList<>(2);
+        Aresta ida = grafo.getAresta(idOrigem, idDestino);
+        if (ida != null) {
+            arestas.add(ida);
+        }
+        if (!grafo.isOrientado()) {
+            Aresta volta = grafo.getAresta(idDestino, idOrigem);
+            if (volta != null && volta != ida) {
+                arestas.add(volta);
+            }
+        }
+        return arestas;
+    }
+
+    // Coloca nas listas de entrada as arestas entre os dois nós que ainda não estão lá.
+    private List<Aresta> registrarArestas(String labelOrigem, String labelDestino) {
+        List<Aresta> arestas = arestasEntre(grafo.getNo(labelOrigem).getId(), grafo.getNo(labelDestino).getId());
+        for (Aresta aresta : arestas) {
+            List<Aresta> entrada = arestasEntrada.get(aresta.getDestino().getId());
+            if (!entrada.contains(aresta)) {
+                entrada.add(aresta);
+            }
+        }
+        return arestas;
+    }
+
+    /**
+     * // Função: consertarDiminuicao
+     * // Descrição: Trata arestas novas ou mais baratas: se alguma deixa o seu destino
+     * //            mais perto da origem, ele troca de pai e a melhora é propagada.
+     * // Entrada: arestas (List<Aresta>) - As arestas que ficaram mais baratas.
+     * // Saída: Nenhuma.
+     */
+    private void consertarDiminuicao(List<Aresta> arestas) {
+        PriorityQueue<NoDistancia> fila = new PriorityQueue<>();
+        for (Aresta aresta : arestas) {
+            int u = aresta.getOrigem().getId();
+            int v = aresta.getDestino().getId();
+            if (distancias[u] == INFINITO) {
+                continue;
+            }
+            long nova = (long) distancias[u] + aresta.getPeso();
+            if (nova < distancias[v]) {
+                distancias[v] = (int) nova;
+                definirPai(v, aresta);
+                fila.add(new NoDistancia(v, (int) nova));
+            }
+        }
+        propagar(fila, "Dijkstra dinâmico");
+    }
+
+    /**
+     * // Função: consertarAumento
+     * // Descrição: Trata arestas removidas ou mais caras. As que eram aresta-pai de algum
+     * //            nó invalidam a subárvore desse nó: todos perdem a distância e, em
+     * //            seguida, cada um pega o melhor candidato entre as arestas de entrada
+     * //            vindas de nós não afetados. O Dijkstra a partir desses candidatos
+     * //            termina o conserto, tocando só os nós da subárvore.
+     * // Entrada: arestas (List<Aresta>) - As arestas que ficaram mais caras ou sumiram.
+     * // Saída: Nenhuma.
+     */
+    private void consertarAumento(List<Aresta> arestas) {
+        List<Integer> afetados = new ArrayList<>();
+        for (Aresta aresta : arestas) {
+            int v = aresta.getDestino().getId();
+            if (arestaPai[v] == aresta) {
+                coletarSubarvore(v, afetados);
+            }
+        }
+        if (afetados.isEmpty()) {
+            nosReassentados = 0;
+            return;
+        }
+
+        for (int v : afetados) {
+            distancias[v] = INFINITO;
+            definirPai(v, null);
+        }
+
+        PriorityQueue<NoDistancia> fila = new PriorityQueue<>();
+        for (int v : afetados) {
+            for (Aresta aresta : arestasEntrada.get(v)) {
+                int u = aresta.getOrigem().getId();
+                if (distancias[u] == INFINITO) {
+                    continue; // Afetado (ou inalcançável): será tratado pelo Dijkstra
+                }
+                long nova = (long) distancias[u] + aresta.getPeso();
+                if (nova < distancias[v]) {
+                    distancias[v] = (int) nova;
+                    definirPai(v, aresta);
+                }
+            }
+            if (distancias[v] != INFINITO) {
+                fila.add(new NoDistancia(v, distancias[v]));
+            }
+        }
+        propagar(fila, "Dijkstra dinâmico");
+    }
+
+    // Junta em 'saida' o nó e todos os seus descendentes na árvore.
+    private void coletarSubarvore(int raiz, List<Integer> saida) {
+        ArrayDeque<Integer> pilha = new ArrayDeque<>();
+        pilha.push(raiz);
+        while (!pilha.isEmpty()) {
+            int v = pilha.pop();
+            saida.add(v);
+            for (int filho = primeiroFilho[v]; filho != NENHUM; filho = proximoIrmao[filho]) {
+                pilha.push(filho);
+            }
+        }
+    }
+
+    /**
+     * // Função: propagar
+     * // Descrição: O laço do Dijkstra: retira da fila o nó mais perto, ignora entradas
+     * //            desatualizadas e relaxa as arestas que saem dele, trocando o pai dos
+     * //            vizinhos que ficarem mais perto.
+     * // Entrada: fila (PriorityQueue<NoDistancia>) - Os nós de onde o conserto começa.
+     * //          nomeMetricas (String) - Nome usado nas métricas da busca.
+     * // Saída: Nenhuma.
+     */
+    private void propagar(PriorityQueue<NoDistancia> fila, String nomeMetricas) {
+        ContadorBusca contador = Metricas.iniciarBusca(nomeMetricas);
+        int assentados = 0;
+
+        while (!fila.isEmpty()) {
+            NoDistancia item = fila.poll();
+            int u = item.no();
+            if (item.distancia() > distancias[u]) {
+                contador.descartouObsoleta();
+                continue;
+            }
+            assentados++;
+            contador.expandiu();
+
+            for (Aresta aresta : grafo.getNo(u).getArestas()) {
+                int v = aresta.getDestino().getId();
+                long nova = (long) item.distancia() + aresta.getPeso();
+                contador.relaxou();
+                if (nova < distancias[v]) {
+                    distancias[v] = (int) nova;
+                    definirPai(v, aresta);
+                    fila.add(new NoDistancia(v, (int) nova));
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(fila.size());
+        }
+
+        nosReassentados = assentados;
+        contador.finalizar(true);
+    }
+
+    // Troca o pai de 'v' na árvore, mantendo as listas de filhos em dia.
+    private void definirPai(int v, Aresta novaAresta) {
+        Aresta antiga = arestaPai[v];
+        if (antiga != null) {
+            int pai = antiga.getOrigem().getId();
+            if (irmaoAnterior[v] != NENHUM) {
+                proximoIrmao[irmaoAnterior[v]] = proximoIrmao[v];
+            } else {
+                primeiroFilho[pai] = proximoIrmao[v];
+            }
+            if (proximoIrmao[v] != NENHUM) {
+                irmaoAnterior[proximoIrmao[v]] = irmaoAnterior[v];
+            }
+        }
+
+        arestaPai[v] = novaAresta;
+        irmaoAnterior[v] = NENHUM;
+        proximoIrmao[v] = NENHUM;
+        if (novaAresta != null) {
+            int pai = novaAresta.getOrigem().getId();
+            proximoIrmao[v] = primeiroFilho[pai];
+            if (primeiroFilho[pai] != NENHUM) {
+                irmaoAnterior[primeiroFilho[pai]] = v;
+            }
+            primeiroFilho[pai] = v;
+        }
+    }
+
+    // Aumenta os vetores quando o grafo ganha nós novos (ex: por 'adicionarAresta').
+    private void garantirCapacidade(int totalNos) {
+        int antigo = distancias.length;
+        if (totalNos <= antigo) {
+            return;
+        }
+        int capacidade = Math.max(totalNos, antigo * 2);
+        distancias = Arrays.copyOf(distancias, capacidade);
+        arestaPai = Arrays.copyOf(arestaPai, capacidade);
+        primeiroFilho = Arrays.copyOf(primeiroFilho, capacidade);
+        proximoIrmao = Arrays.copyOf(proximoIrmao, capacidade);
+        irmaoAnterior = Arrays.copyOf(irmaoAnterior, capacidade);
+        Arrays.fill(distancias, antigo, capacidade, INFINITO);
+        Arrays.fill(primeiroFilho, antigo, capacidade, NENHUM);
+        Arrays.fill(proximoIrmao, antigo, capacidade, NENHUM);
+        Arrays.fill(irmaoAnterior, antigo, capacidade, NENHUM);
+        while (arestasEntrada.size() < capacidade) {
+            arestasEntrada.add(new ArrayList<>());
+        }
+    }
+}
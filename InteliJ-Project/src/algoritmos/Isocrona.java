@@ -0,0 +1,260 @@
+package algoritmos;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+import metricas.ContadorBusca;
+import metricas.Metricas;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * // Classe: Isocrona
+ * // Descrição: Consulta de alcance ("isócrona"): todos os nós que podem ser alcançados
+ * //            a partir de uma origem gastando no máximo um orçamento (ex: o comprimento
+ * //            do fio), cada um com a sua distância. É o mesmo Dijkstra com limite de
+ * //            fio, mas em vez de parar no nó final ele continua até esgotar o orçamento.
+ * //
+ * //            Os nós são entregues a um consumidor à medida que são assentados (em
+ * //            ordem crescente de distância), em vez de juntados em uma lista: só o
+ * //            vetor de distâncias e a fila ficam em memória, o que importa quando a
+ * //            resposta tem milhões de nós. Vários orçamentos aninhados (ex: 100, 200,
+ * //            500) saem de uma só varredura: cada nó é marcado com a menor faixa que o
+ * //            contém.
+ */
+public class Isocrona {
+
+    /**
+     * // Interface: ConsumidorIsocrona
+     * // Descrição: Recebe cada nó assentado dentro do orçamento.
+     * //   - no (No): O nó alcançado.
+     * //   - distancia (int): A distância mínima da origem até ele.
+     * //   - faixa (int): Índice do menor orçamento que contém o nó.
+     */
+    @FunctionalInterface
+    public interface ConsumidorIsocrona {
+        void aceitar(No no, int distancia, int faixa);
+    }
+
+    /**
+     * // Record: ResumoIsocrona
+     * // Descrição: O que sobra depois da varredura (os nós já foram entregues).
+     * //   - orcamentos (int[]): Os orçamentos usados, em ordem crescente.
+     * //   - nosPorFaixa (int[]): Quantos nós couberam em cada orçamento (acumulado:
+     * //                          a faixa i conta também os nós das faixas menores).
+     * //   - completa (boolean): false se a varredura foi cancelada antes do fim.
+     */
+    public record ResumoIsocrona(int[] orcamentos, int[] nosPorFaixa, boolean completa) {}
+
+    /**
+     * // Função: executar
+     * // Descrição: Roda o Dijkstra a partir da origem até o maior orçamento, entregando
+     * //            cada nó ao consumidor no momento em que sua distância fica definitiva.
+     * //            A fila de prioridade guarda (distância, id) em um único long, sem
+     * //            criar um objeto por entrada.
+     * // Entrada: grafo (Grafo) - O grafo (apenas leitura).
+     * //          labelOrigem (String) - O nome do nó de origem.
+     * //          orcamentos (int[]) - Um ou mais orçamentos (são ordenados aqui).
+     * //          consumidor (ConsumidorIsocrona) - Quem recebe os nós alcançados.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper a varredura.
+     * // Saída: O ResumoIsocrona com a contagem por faixa.
+     * // Pré-Condição: Os pesos não podem ser negativos e o grafo não deve ser modificado
+     * //               durante a varredura.
+     * // Lança: IllegalArgumentException - Se a origem não existir ou os orçamentos forem
+     * //        inválidos (nenhum ou algum negativo).
+     */
+    public static ResumoIsocrona executar(Grafo grafo, String labelOrigem, int[] orcamentos,
+                                          ConsumidorIsocrona consumidor, AtomicBoolean cancelado) {
+        No origem = grafo.getNo(labelOrigem);
+        if (origem == null) {
+            throw new IllegalArgumentException("Nó de origem não existe no grafo: " + labelOrigem);
+        }
+        if (orcamentos.length == 0) {
+            throw new IllegalArgumentException("Informe pelo menos um orçamento.");
+        }
+        int[] faixas = orcamentos.clone();
+        Arrays.sort(faixas);
+        if (faixas[0] < 0) {
+            throw new IllegalArgumentException("Os orçamentos não podem ser negativos.");
+        }
+        int limite = faixas[faixas.length - 1];
+        int[] nosPorFaixa = new int[faixas.length];
+
+        ContadorBusca contador = Metricas.iniciarBusca("Isócrona");
+        int[] distancias = new int[grafo.getTotalNos()];
+        Arrays.fill(distancias, Integer.MAX_VALUE);
+        FilaPrimitiva fila = new FilaPrimitiva();
+
+        distancias[origem.getId()] = 0;
+        fila.inserir(0, origem.getId());
+        contador.gerou();
+        int faixa = 0;
+
+        while (!fila.vazia()) {
+            if (cancelado.get()) {
+                contador.finalizar(false);
+                return new ResumoIsocrona(faixas, acumular(nosPorFaixa), false);
+            }
+
+            long item = fila.retirar();
+            int distancia = (int) (item >>> 32);
+            int id = (int) item;
+            if (distancia > distancias[id]) {
+                contador.descartouObsoleta();
+                continue;
+            }
+            contador.expandiu();
+
+            // Como os nós saem em ordem de distância, a faixa só avança.
+            while (distancia > faixas[faixa]) {
+                faixa++;
+            }
+            nosPorFaixa[faixa]++;
+            No no = grafo.getNo(id);
+            consumidor.aceitar(no, distancia, faixa);
+
+            for (Aresta aresta : no.getArestas()) {
+                int vizinho = aresta.getDestino().getId();
+                long nova = (long) distancia + aresta.getPeso();
+                contador.relaxou();
+                if (nova <= limite && nova < distancias[vizinho]) {
+                    distancias[vizinho] = (int) nova;
+                    fila.inserir((int) nova, vizinho);
+                    contador.gerou();
+                }
+            }
+            contador.fronteira(fila.tamanho());
+        }
+
+        contador.finalizar(true);
+        return new ResumoIsocrona(faixas, acumular(nosPorFaixa), true);
+    }
+
+    private static int[] acumular(int[] nosPorFaixa) {
+        for (int i = 1; i < nosPorFaixa.length; i++) {
+            nosPorFaixa[i] += nosPorFaixa[i - 1];
+        }
+        return nosPorFaixa;
+    }
+
+    /**
+     * // Função: paraArquivo
+     * // Descrição: Cria um consumidor que grava cada nó em um arquivo CSV
+     * //            ("no;distancia;orcamento") à medida que chega.
+     * // Entrada: caminho (Path) - O arquivo de saída (é sobrescrito).
+     * //          orcamentos (int[]) - Os mesmos orçamentos passados para 'executar'.
+     * // Saída: O EscritorIsocrona, que deve ser fechado com 'close'.
+     * // Lança: IOException - Se o arquivo não puder ser criado.
+     */
+    public static EscritorIsocrona paraArquivo(Path caminho, int[] orcamentos) throws IOException {
+        int[] faixas = orcamentos.clone();
+        Arrays.sort(faixas);
+        return new EscritorIsocrona(Files.newBufferedWriter(caminho, StandardCharsets.UTF_8), faixas);
+    }
+
+    /**
+     * // Classe: EscritorIsocrona
+     * // Descrição: Consumidor que escreve os nós em um arquivo de texto, com buffer.
+     */
+    public static final class EscritorIsocrona implements ConsumidorIsocrona, AutoCloseable {
+        private final BufferedWriter saida;
+        private final int[] orcamentos;
+        private long linhas = 0;
+
+        private EscritorIsocrona(BufferedWriter saida, int[] orcamentos) throws IOException {
+            this.saida = saida;
+            this.orcamentos = orcamentos;
+            saida.write("no;distancia;orcamento");
+            saida.newLine();
+        }
+
+        @Override
+        public void aceitar(No no, int distancia, int faixa) {
+            try {
+                saida.write(no.getLabel());
+                saida.write(';');
+                saida.write(Integer.toString(distancia));
+                saida.write(';');
+                saida.write(Integer.toString(orcamentos[faixa]));
+                saida.newLine();
+                linhas++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public long getLinhas() {
+            return linhas;
+        }
+
+        @Override
+        public void close() throws IOException {
+            saida.close();
+        }
+    }
+
+    /**
+     * // Classe: FilaPrimitiva
+     * // Descrição: Heap binário mínimo de longs. Cada entrada é (distância << 32) | id,
+     * //            então a ordem dos longs é a ordem das distâncias e não há objetos
+     * //            por entrada (importante com milhões de nós).
+     */
+    static final class FilaPrimitiva {
+        private long[] heap = new long[64];
+        private int tamanho = 0;
+
+        void inserir(int distancia, int id) {
+            if (tamanho == heap.length) {
+                heap = Arrays.copyOf(heap, tamanho * 2);
+            }
+            long valor = ((long) distancia << 32) | (id & 0xFFFFFFFFL);
+            int i = tamanho++;
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (heap[pai] <= valor) {
+                    break;
+                }
+                heap[i] = heap[pai];
+                i = pai;
+            }
+            heap[i] = valor;
+        }
+
+        long retirar() {
+            long topo = heap[0];
+            long ultimo = heap[--tamanho];
+            int i = 0;
+            while (true) {
+                int filho = 2 * i + 1;
+                if (filho >= tamanho) {
+                    break;
+                }
+                if (filho + 1 < tamanho && heap[filho + 1] < heap[filho]) {
+                    filho++;
+                }
+                if (heap[filho] >= ultimo) {
+                    break;
+                }
+                heap[i] = heap[filho];
+                i = filho;
+            }
+            heap[i] = ultimo;
+            return topo;
+        }
+
+        boolean vazia() {
+            return tamanho == 0;
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package algoritmos;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * // Classe: KCaminhos
+ * // Descrição: Encontra os k caminhos mais curtos sem ciclos entre dois nós (algoritmo
+ * //            de Yen). O 1º é o do Dijkstra. Para achar o próximo, cada nó do último
+ * //            caminho aceito vira um ponto de "desvio": mantém-se o trecho até ele (a
+ * //            raiz) e procura-se o melhor caminho dali até o fim sem repetir os nós da
+ * //            raiz e sem usar a aresta seguinte de nenhum caminho já aceito com a mesma
+ * //            raiz. O melhor candidato vira o próximo caminho.
+ * //
+ * //            As buscas de desvio de uma rodada são independentes: rodam em paralelo
+ * //            em um ForkJoinPool, todas sobre o MESMO grafo. Em vez de copiar o grafo
+ * //            e apagar nós e arestas, cada tarefa leva suas máscaras (BitSets de nós
+ * //            e de arestas bloqueadas) para o Dijkstra.buscarComMascara.
+ */
+public class KCaminhos {
+
+    private static final String NOME = "Yen";
+
+    /**
+     * // Função: executar
+     * // Descrição: Atalho que usa o pool comum do ForkJoin.
+     * // Entrada: grafo, labelInicial, labelFinal - como no Dijkstra.
+     * //          k (int) - Quantos caminhos procurar.
+     * // Saída: A lista de até k caminhos, do mais barato ao mais caro.
+     */
+    public static List<ResultadoBusca> executar(Grafo grafo, String labelInicial, String labelFinal, int k)
+            throws InterruptedException {
+        return executar(grafo, labelInicial, labelFinal, k, ForkJoinPool.commonPool(), new AtomicBoolean(false));
+    }
+
+    /**
+     * // Função: executar
+     * // Descrição: Roda o algoritmo de Yen. A cada rodada, monta uma tarefa de desvio por
+     * //            nó do último caminho aceito, executa todas no pool e junta os
+     * //            candidatos novos (sem repetidos) em uma fila ordenada pelo custo.
+     * // Entrada: grafo (Grafo) - O grafo compartilhado (apenas leitura).
+     * //          labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó de chegada.
+     * //          k (int) - Quantos caminhos procurar (>= 1).
+     * //          pool (ForkJoinPool) - Onde as buscas de desvio são executadas.
+     * //          cancelado (AtomicBoolean) - Sinal para interromper antes do fim.
+     * // Saída: A lista de até k caminhos sem ciclos, em ordem de custo. Pode ter menos
+     * //        de k se não existirem caminhos suficientes ou se a busca for cancelada.
+     * // Pré-Condição: O grafo não deve ser modificado durante a execução e os pesos
+     * //               não podem ser negativos.
+     * // Lança: InterruptedException - Se a thread for interrompida esperando as tarefas.
+     */
+    public static List<ResultadoBusca> executar(Grafo grafo, String labelInicial, String labelFinal, int k,
+                                                ForkJoinPool pool, AtomicBoolean cancelado) throws InterruptedException {
+        if (k < 1) {
+            throw new IllegalArgumentException("k deve ser pelo menos 1.");
+        }
+        List<ResultadoBusca> aceitos = new ArrayList<>();
+        No noInicial = grafo.getNo(labelInicial);
+        No noFinal = grafo.getNo(labelFinal);
+        if (noInicial == null || noFinal == null) {
+            return aceitos;
+        }
+
+        ResultadoBusca primeiro = Dijkstra.buscarComMascara(noInicial, noFinal, null, null, cancelado);
+        if (primeiro == null || !primeiro.encontrado()) {
+            return aceitos;
+        }
+        aceitos.add(renomear(primeiro, primeiro.caminho(), primeiro.distancia()));
+
+        // Candidatos ainda não aceitos, do mais barato ao mais caro (empate: menos nós).
+        PriorityQueue<ResultadoBusca> candidatos = new PriorityQueue<>(Comparator
+                .comparingInt(ResultadoBusca::distancia)
+                .thenComparingInt(r -> r.caminho().size()));
+        Set<List<No>> vistos = new HashSet<>();
+        vistos.add(primeiro.caminho());
+
+        while (aceitos.size() < k && !cancelado.get()) {
+            List<No> ultimo = aceitos.get(aceitos.size() - 1).caminho();
+            List<Callable<ResultadoBusca>> tarefas = new ArrayList<>();
+            int custoRaiz = 0;
+
+            for (int i = 0; i < ultimo.size() - 1; i++) {
+                tarefas.add(tarefaDesvio(grafo, ultimo, i, custoRaiz, aceitos, noFinal, cancelado));
+                custoRaiz += grafo.getAresta(ultimo.get(i).getId(), ultimo.get(i + 1).getId()).getPeso();
+            }
+
+            for (Future<ResultadoBusca> futuro : pool.invokeAll(tarefas)) {
+                ResultadoBusca candidato;
+                try {
+                    candidato = futuro.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falha em uma busca de desvio.", e.getCause());
+                }
+                if (candidato != null && vistos.add(candidato.caminho())) {
+                    candidatos.add(candidato);
+                }
+            }
+
+            if (candidatos.isEmpty()) {
+                break; // Não existem mais caminhos sem ciclos
+            }
+            aceitos.add(candidatos.poll());
+        }
+        return aceitos;
+    }
+
+    /**
+     * // Função: tarefaDesvio
+     * // Descrição: Monta a tarefa que procura o desvio a partir do i-ésimo nó do caminho.
+     * //            As máscaras são próprias da tarefa: bloqueiam os nós da raiz (menos
+     * //            o nó de desvio) e a aresta que sai do nó de desvio em cada caminho
+     * //            aceito que começa com a mesma raiz.
+     * // Entrada: grafo (Grafo) - O grafo compartilhado.
+     * //          caminho (List<No>) - O último caminho aceito.
+     * //          i (int) - Posição do nó de desvio no caminho.
+     * //          custoRaiz (int) - Custo do trecho caminho[0..i].
+     * //          aceitos (List<ResultadoBusca>) - Caminhos já aceitos.
+     * //          noFinal (No) - O destino.
+     * //          cancelado (AtomicBoolean) - Sinal de cancelamento.
+     * // Saída: A tarefa, que devolve o caminho completo (raiz + desvio) ou null.
+     */
+    private static Callable<ResultadoBusca> tarefaDesvio(Grafo grafo, List<No> caminho, int i, int custoRaiz,
+                                                         List<ResultadoBusca> aceitos, No noFinal,
+                                                         AtomicBoolean cancelado) {
+        List<No> raiz = caminho.subList(0, i + 1);
+        No noDesvio = caminho.get(i);
+
+        BitSet nosBloqueados = new BitSet(grafo.getTotalNos());
+        for (int j = 0; j < i; j++) {
+            nosBloqueados.set(raiz.get(j).getId());
+        }
+        BitSet arestasBloqueadas = new BitSet(grafo.getTotalArestas());
+        for (ResultadoBusca aceito : aceitos) {
+            List<No> outro = aceito.caminho();
+            if (outro.size() > i + 1 && outro.subList(0, i + 1).equals(raiz)) {
+                Aresta proxima = grafo.getAresta(noDesvio.getId(), outro.get(i + 1).getId());
+                if (proxima != null) {
+                    arestasBloqueadas.set(proxima.getId());
+                }
+            }
+        }
+
+        return () -> {
+            ResultadoBusca desvio = Dijkstra.buscarComMascara(noDesvio, noFinal, nosBloqueados, arestasBloqueadas, cancelado);
+            if (desvio == null || !desvio.encontrado()) {
+                return null;
+            }
+            List<No> completo = new ArrayList<>(raiz.subList(0, i));
+            completo.addAll(desvio.caminho());
+            return renomear(desvio, completo, custoRaiz + desvio.distancia());
+        };
+    }
+
+    private static ResultadoBusca renomear(ResultadoBusca base, List<No> caminho, int distancia) {
+        return new ResultadoBusca(NOME, List.copyOf(caminho), distancia, base.nosExpandidos(), true);
+    }
+}
@@ -0,0 +1,131 @@
+package algoritmos;
+
+import grafo.Grafo;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * // Classe: Portfolio
+ * // Descrição: Executa vários algoritmos de busca ao mesmo tempo (em paralelo) sobre
+ * //            o mesmo grafo e devolve a primeira resposta que atende à qualidade pedida.
+ * //            O DFS costuma achar "algum" caminho muito rápido, enquanto o A* e o
+ * //            Dijkstra garantem o caminho ótimo; correndo todos juntos, ficamos com a
+ * //            menor latência entre eles para cada consulta. Assim que uma resposta é
+ * //            aceita, as outras buscas são avisadas (de forma cooperativa) para parar.
+ */
+public class Portfolio {
+
+    // Qualidade mínima exigida da resposta.
+    // QUALQUER: serve o primeiro caminho encontrado, mesmo que não seja o melhor.
+    // OTIMA: só serve um caminho de algoritmo que garante o menor custo.
+    public enum Qualidade { QUALQUER, OTIMA }
+
+    // Algoritmos que podem participar da corrida.
+    public enum Algoritmo { DFS, A_ESTRELA, DIJKSTRA }
+
+    /**
+     * // Função: executar
+     * // Descrição: Dispara uma tarefa por algoritmo configurado, todas lendo o mesmo
+     * //            grafo, e espera os resultados na ordem em que ficam prontos. O primeiro
+     * //            que atender à qualidade pedida vence; as demais tarefas são canceladas.
+     * //            Uma busca completa que termina sem caminho também é uma resposta
+     * //            definitiva (não existe caminho), então ela também encerra a corrida.
+     * // Entrada: grafo (Grafo) - O grafo compartilhado (apenas leitura).
+     * //          labelInicial (String) - O nome do nó de partida.
+     * //          labelFinal (String) - O nome do nó objetivo.
+     * //          algoritmos (Set<Algoritmo>) - Quais algoritmos participam.
+     * //          qualidade (Qualidade) - Qualidade mínima da resposta.
+     * // Saída: O ResultadoBusca vencedor.
+     * // Pré-Condição: O conjunto de algoritmos não pode ser vazio e o grafo não deve ser
+     * //               modificado enquanto a corrida acontece.
+     * // Pós-Condição: Todas as tarefas terminam (as perdedoras são canceladas e esperadas)
+     * //               antes do retorno, então nenhuma busca continua lendo o grafo depois.
+     * // Lança: InterruptedException - Se a thread que chamou for interrompida enquanto espera.
+     * //        ExecutionException - Se nenhum algoritmo respondeu porque todos falharam
+     * //        (a causa é a falha do primeiro).
+     */
+    public static ResultadoBusca executar(Grafo grafo, String labelInicial, String labelFinal,
+                                          Set<Algoritmo> algoritmos, Qualidade qualidade)
+            throws InterruptedException, ExecutionException {
+        if (algoritmos.isEmpty()) {
+            throw new IllegalArgumentException("O portfólio precisa de pelo menos um algoritmo.");
+        }
+
+        AtomicBoolean cancelado = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(algoritmos.size());
+        CompletionService<ResultadoBusca> conclusoes = new ExecutorCompletionService<>(executor);
+
+        try {
+            for (Algoritmo algoritmo : algoritmos) {
+                conclusoes.submit(() -> switch (algoritmo) {
+                    case DFS -> DFS.buscar(grafo, labelInicial, labelFinal, cancelado);
+                    case A_ESTRELA -> AEstrela.buscar(grafo, labelInicial, labelFinal, cancelado);
+                    case DIJKSTRA -> Dijkstra.buscar(grafo, labelInicial, labelFinal, Integer.MAX_VALUE, cancelado);
+                });
+            }
+
+            // Guarda a melhor resposta "insuficiente" para o caso de nenhuma atender à qualidade.
+            ResultadoBusca melhorParcial = null;
+            // Primeira falha, para ser relatada se nenhuma busca responder.
+            ExecutionException falha = null;
+            boolean algumaRespondeu = false;
+
+            for (int i = 0; i < algoritmos.size(); i++) {
+                ResultadoBusca resultado;
+                try {
+                    resultado = conclusoes.take().get();
+                } catch (ExecutionException e) {
+                    if (falha == null) {
+                        falha = e;
+                    }
+                    continue; // Uma busca falhou; as outras ainda podem responder.
+                }
+
+                if (resultado == null) {
+                    continue; // Busca cancelada
+                }
+                algumaRespondeu = true;
+
+                if (!resultado.encontrado() || qualidade == Qualidade.QUALQUER || resultado.otimo()) {
+                    return resultado;
+                }
+
+                if (melhorParcial == null || resultado.distancia() < melhorParcial.distancia()) {
+                    melhorParcial = resultado;
+                }
+            }
+
+            if (melhorParcial != null) {
+                return melhorParcial;
+            }
+            if (!algumaRespondeu && falha != null) {
+                throw falha;
+            }
+            return ResultadoBusca.naoEncontrado("Portfólio", 0, false);
+        } finally {
+            cancelado.set(true);
+            executor.shutdownNow();
+            aguardarTermino(executor);
+        }
+    }
+
+    // Espera as buscas perdedoras perceberem o cancelamento e saírem. Se a thread for
+    // interrompida durante a espera, continua esperando e restaura a interrupção no fim.
+    private static void aguardarTermino(ExecutorService executor) {
+        boolean interrompida = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package algoritmos;
+
+import grafo.No;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * // Record: ResultadoBusca
+ * // Descrição: Guarda o resultado de uma busca executada sem interação com o usuário
+ * //            (sem pausas nem impressão passo a passo). É o que os modos automáticos,
+ * //            como o portfólio de algoritmos, usam para comparar e exibir as respostas.
+ * //
+ * // Componentes (Campos):
+ * //   - algoritmo (String): Nome do algoritmo que produziu o resultado.
+ * //   - caminho (List<No>): Sequência de nós do início ao fim (vazia se não houver caminho).
+ * //   - distancia (int): Custo total do caminho (Integer.MAX_VALUE se não houver caminho).
+ * //   - nosExpandidos (int): Quantos nós foram retirados da fronteira durante a busca.
+ * //   - otimo (boolean): Se o algoritmo garante que o caminho encontrado é o de menor custo.
+ */
+public record ResultadoBusca(
+        String algoritmo,
+        List<No> caminho,
+        int distancia,
+        int nosExpandidos,
+        boolean otimo
+) {
+
+    /**
+     * // Função: naoEncontrado
+     * // Descrição: Atalho para criar o resultado de uma busca que terminou sem caminho.
+     * // Entrada: algoritmo (String) - Nome do algoritmo.
+     * //          nosExpandidos (int) - Nós expandidos até desistir.
+     * //          otimo (boolean) - Se o algoritmo é ótimo (e portanto completo).
+     * // Saída: Um ResultadoBusca com caminho vazio.
+     */
+    public static ResultadoBusca naoEncontrado(String algoritmo, int nosExpandidos, boolean otimo) {
+        return new ResultadoBusca(algoritmo, List.of(), Integer.MAX_VALUE, nosExpandidos, otimo);
+    }
+
+    public boolean encontrado() {
+        return !caminho.isEmpty();
+    }
+
+    /**
+     * // Função: caminhoFormatado
+     * // Descrição: Monta o caminho no mesmo formato usado pelos algoritmos interativos
+     * //            ("a - b - c").
+     * // Entrada: Nenhuma.
+     * // Saída: A String com os labels do caminho separados por " - ".
+     */
+    public String caminhoFormatado() {
+        return caminho.stream()
+                .map(No::getLabel)
+                .collect(Collectors.joining(" - "));
+    }
+}
@@ -0,0 +1,572 @@
+package carga;
+
+import algoritmos.AEstrela;
+import algoritmos.DFS;
+import algoritmos.Dijkstra;
+import algoritmos.ResultadoBusca;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import grafo.Grafo;
+import metricas.Histograma;
+import utils.LeitorArquivo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * // Classe: GeradorCarga
+ * // Descrição: Ferramenta separada que reproduz um log de consultas contra um grafo
+ * //            carregado do arquivo de texto de sempre, para medir como as buscas se
+ * //            comportam sob carga. Tudo roda no próprio processo, sem rede.
+ * //
+ * //            - Concorrência fixa (laço fechado): N threads, cada uma dispara a próxima
+ * //              consulta assim que a anterior termina.
+ * //            - Taxa fixa (laço aberto): as consultas têm hora marcada (1/taxa segundos
+ * //              entre elas). A latência é contada a partir da hora marcada, não de
+ * //              quando a consulta conseguiu começar, então a espera na fila quando o
+ * //              sistema atrasa entra na conta (sem "omissão coordenada").
+ * //
+ * //            O relatório traz, por algoritmo: vazão, percentis de latência (Histograma,
+ * //            no estilo do HdrHistogram) e a alocação de memória (bytes alocados pela
+ * //            thread durante cada consulta). As pausas do coletor de lixo são globais
+ * //            à JVM; com --por-algoritmo cada algoritmo roda em uma fase própria e as
+ * //            pausas saem separadas por algoritmo.
+ * //
+ * // Log de consultas: uma por linha, "origem;destino;algoritmo[;limiteFio]", com
+ * //                   algoritmo = astar|dijkstra|dfs. Linhas vazias e com '#' são ignoradas.
+ * //
+ * // Uso: java carga.GeradorCarga <arquivo-grafo> <log-consultas> [opções]
+ * //        --concorrencia N   threads (laço fechado; padrão 4)
+ * //        --taxa N           consultas por segundo (laço aberto; usa até --concorrencia threads)
+ * //        --repeticoes N     quantas vezes o log é reproduzido (padrão 1)
+ * //        --aquecimento N    consultas descartadas antes da medição (padrão 1000)
+ * //        --timeout MS       cancela consultas que passarem do prazo
+ * //        --por-algoritmo    uma fase por algoritmo (pausas do GC separadas)
+ * //      java carga.GeradorCarga <arquivo-grafo> --gerar <quantidade> <saida> [semente]
+ * //        Gera um log aleatório com nós do grafo.
+ */
+public class GeradorCarga {
+
+    private static final List<String> ALGORITMOS = List.of("astar", "dijkstra", "dfs");
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+
+    /**
+     * // Record: Consulta
+     * // Descrição: Uma linha do log de consultas.
+     */
+    public record Consulta(String origem, String destino, String algoritmo, int limiteFio) {}
+
+    /**
+     * // Record: Configuracao
+     * // Descrição: Como a reprodução deve ser feita.
+     * //   - taxa (double): Consultas por segundo (0 = laço fechado).
+     * //   - concorrencia (int): Número de threads.
+     * //   - repeticoes (int): Quantas vezes o log é reproduzido.
+     * //   - aquecimento (int): Consultas rodadas (e descartadas) antes de medir.
+     * //   - timeoutMs (long): Prazo de cada consulta (0 = sem prazo).
+     * //   - porAlgoritmo (boolean): Uma fase separada para cada algoritmo.
+     */
+    public record Configuracao(double taxa, int concorrencia, int repeticoes, int aquecimento,
+                               long timeoutMs, boolean porAlgoritmo) {}
+
+    /**
+     * // Record: Pausas
+     * // Descrição: Pausas do coletor de lixo observadas durante uma fase.
+     * //   - quantidade (long): Número de pausas.
+     * //   - totalMs (long): Soma das durações.
+     * //   - duracoesMs (Histograma): Distribuição das durações.
+     */
+    public record Pausas(long quantidade, long totalMs, Histograma duracoesMs) {}
+
+    /**
+     * // Classe: EstatisticaAlgoritmo
+     * // Descrição: O que foi medido para um algoritmo (latências em nanossegundos).
+     * //            'resposta' conta da hora marcada até o fim; 'servico' só o tempo da
+     * //            busca em si (no laço fechado os dois são iguais).
+     */
+    public static final class EstatisticaAlgoritmo {
+        private final Histograma resposta = new Histograma();
+        private final Histograma servico = new Histograma();
+        private final LongAdder encontradas = new LongAdder();
+        private final LongAdder canceladas = new LongAdder();
+        private final LongAdder bytesAlocados = new LongAdder();
+
+        public Histograma getResposta() {
+            return resposta;
+        }
+
+        public Histograma getServico() {
+            return servico;
+        }
+
+        public long getEncontradas() {
+            return encontradas.sum();
+        }
+
+        public long getCanceladas() {
+            return canceladas.sum();
+        }
+
+        public long getBytesAlocados() {
+            return bytesAlocados.sum();
+        }
+    }
+
+    /**
+     * // Record: Fase
+     * // Descrição: O resultado de uma rodada de medição.
+     * //   - nome (String): "mista" ou o nome do algoritmo.
+     * //   - duracaoNanos (long): Tempo de parede da fase.
+     * //   - porAlgoritmo (Map): As estatísticas de cada algoritmo que rodou na fase.
+     * //   - pausas (Pausas): As pausas do GC durante a fase.
+     */
+    public record Fase(String nome, long duracaoNanos, Map<String, EstatisticaAlgoritmo> porAlgoritmo, Pausas pausas) {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Uso: java carga.GeradorCarga <arquivo-grafo> <log-consultas> [--concorrencia N] [--taxa N]");
+            System.err.println("            [--repeticoes N] [--aquecimento N] [--timeout MS] [--por-algoritmo]");
+            System.err.println("     java carga.GeradorCarga <arquivo-grafo> --gerar <quantidade> <saida> [semente]");
+            System.exit(1);
+        }
+
+        Grafo grafo = LeitorArquivo.carregarGrafo(args[0]).grafo();
+        System.out.println("Grafo carregado: " + grafo.getTotalNos() + " nós, " + grafo.getQuantidadeArestas() + " arestas.");
+
+        if ("--gerar".equals(args[1])) {
+            if (args.length < 4) {
+                System.err.println("Uso: java carga.GeradorCarga <arquivo-grafo> --gerar <quantidade> <saida> [semente]");
+                System.exit(1);
+            }
+            long semente = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+            gerarConsultas(grafo, Integer.parseInt(args[2]), semente, Path.of(args[3]));
+            System.out.println("Log gerado em " + args[3]);
+            return;
+        }
+
+        double taxa = 0;
+        int concorrencia = 4;
+        int repeticoes = 1;
+        int aquecimento = 1000;
+        long timeoutMs = 0;
+        boolean porAlgoritmo = false;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--taxa" -> taxa = Double.parseDouble(args[++i]);
+                case "--concorrencia" -> concorrencia = Integer.parseInt(args[++i]);
+                case "--repeticoes" -> repeticoes = Integer.parseInt(args[++i]);
+                case "--aquecimento" -> aquecimento = Integer.parseInt(args[++i]);
+                case "--timeout" -> timeoutMs = Long.parseLong(args[++i]);
+                case "--por-algoritmo" -> porAlgoritmo = true;
+                default -> {
+                    System.err.println("Opção desconhecida: " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+        if (concorrencia < 1 || repeticoes < 1 || aquecimento < 0 || taxa < 0 || timeoutMs < 0) {
+            System.err.println("Valores inválidos: concorrência e repetições devem ser >= 1; os demais, >= 0.");
+            System.exit(1);
+        }
+
+        List<Consulta> consultas = lerConsultas(Path.of(args[1]));
+        System.out.println("Consultas no log: " + consultas.size());
+        if (consultas.isEmpty()) {
+            return;
+        }
+
+        Configuracao configuracao = new Configuracao(taxa, concorrencia, repeticoes, aquecimento, timeoutMs, porAlgoritmo);
+        for (Fase fase : executar(grafo, consultas, configuracao)) {
+            imprimir(fase, configuracao, System.out);
+        }
+    }
+
+    /**
+     * // Função: lerConsultas
+     * // Descrição: Lê o log de consultas ("origem;destino;algoritmo[;limiteFio]").
+     * //            Os labels são convertidos para minúsculas, como no resto do programa.
+     * // Entrada: arquivo (Path) - O log.
+     * // Saída: A lista de consultas, na ordem do arquivo.
+     * // Lança: IOException - Se o arquivo não puder ser lido ou tiver uma linha inválida.
+     */
+    public static List<Consulta> lerConsultas(Path arquivo) throws IOException {
+        List<Consulta> consultas = new ArrayList<>();
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                String[] partes = linha.split(";");
+                if (partes.length < 3 || partes.length > 4) {
+                    throw new IOException("Linha " + numero + " do log inválida (esperado origem;destino;algoritmo[;limiteFio]): " + linha);
+                }
+                String algoritmo = partes[2].trim().toLowerCase();
+                if (algoritmo.equals("a*") || algoritmo.equals("aestrela")) {
+                    algoritmo = "astar";
+                }
+                if (!ALGORITMOS.contains(algoritmo)) {
+                    throw new IOException("Linha " + numero + " do log: algoritmo desconhecido '" + partes[2] + "'.");
+                }
+                int limiteFio = Integer.MAX_VALUE;
+                if (partes.length == 4 && !partes[3].isBlank()) {
+                    try {
+                        limiteFio = Integer.parseInt(partes[3].trim());
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Linha " + numero + " do log: limiteFio deve ser um número inteiro.");
+                    }
+                }
+                consultas.add(new Consulta(partes[0].trim().toLowerCase(), partes[1].trim().toLowerCase(), algoritmo, limiteFio));
+            }
+        }
+        return consultas;
+    }
+
+    /**
+     * // Função: gerarConsultas
+     * // Descrição: Escreve um log com consultas entre nós sorteados do grafo, alternando
+     * //            os algoritmos. Parte das consultas de Dijkstra recebe um limiteFio.
+     * // Entrada: grafo (Grafo) - O grafo de onde os nós são sorteados.
+     * //          quantidade (int) - Número de consultas.
+     * //          semente (long) - Semente do sorteio (a mesma semente gera o mesmo log).
+     * //          saida (Path) - O arquivo do log (é sobrescrito).
+     * // Saída: Nenhuma.
+     * // Lança: IOException - Se o arquivo não puder ser escrito.
+     */
+    public static void gerarConsultas(Grafo grafo, int quantidade, long semente, Path saida) throws IOException {
+        if (grafo.getTotalNos() == 0) {
+            throw new IllegalArgumentException("O grafo não tem nós.");
+        }
+        Random sorteio = new Random(semente);
+        try (BufferedWriter escritor = Files.newBufferedWriter(saida, StandardCharsets.UTF_8)) {
+            escritor.write("# origem;destino;algoritmo;limiteFio");
+            escritor.newLine();
+            for (int i = 0; i < quantidade; i++) {
+                String origem = grafo.getNo(sorteio.nextInt(grafo.getTotalNos())).getLabel();
+                String destino = grafo.getNo(sorteio.nextInt(grafo.getTotalNos())).getLabel();
+                String algoritmo = ALGORITMOS.get(i % ALGORITMOS.size());
+                escritor.write(origem + ";" + destino + ";" + algoritmo);
+                if (algoritmo.equals("dijkstra") && sorteio.nextBoolean()) {
+                    escritor.write(";" + (1 + sorteio.nextInt(1000)));
+                }
+                escritor.newLine();
+            }
+        }
+    }
+
+    /**
+     * // Função: executar
+     * // Descrição: Aquece a JVM com algumas consultas e depois mede uma fase (ou uma
+     * //            por algoritmo, se pedido), reproduzindo o log 'repeticoes' vezes.
+     * // Entrada: grafo (Grafo) - O grafo (apenas leitura, compartilhado pelas threads).
+     * //          consultas (List<Consulta>) - O log.
+     * //          configuracao (Configuracao) - Modo, threads, repetições etc.
+     * // Saída: As fases medidas.
+     * // Pré-Condição: O grafo não deve ser modificado durante a execução.
+     */
+    public static List<Fase> executar(Grafo grafo, List<Consulta> consultas, Configuracao configuracao)
+            throws InterruptedException {
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "carga-prazos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            if (configuracao.aquecimento() > 0) {
+                Configuracao aquecimento = new Configuracao(0, configuracao.concorrencia(), 1, 0,
+                        configuracao.timeoutMs(), false);
+                List<Consulta> amostra = new ArrayList<>(configuracao.aquecimento());
+                for (int i = 0; i < configuracao.aquecimento(); i++) {
+                    amostra.add(consultas.get(i % consultas.size()));
+                }
+                medir("aquecimento", grafo, amostra, aquecimento, agendador);
+            }
+
+            List<Fase> fases = new ArrayList<>();
+            if (configuracao.porAlgoritmo()) {
+                Map<String, List<Consulta>> grupos = new LinkedHashMap<>();
+                for (Consulta consulta : consultas) {
+                    grupos.computeIfAbsent(consulta.algoritmo(), a -> new ArrayList<>()).add(consulta);
+                }
+                for (Map.Entry<String, List<Consulta>> grupo : grupos.entrySet()) {
+                    fases.add(medir(grupo.getKey(), grafo, grupo.getValue(), configuracao, agendador));
+                }
+            } else {
+                fases.add(medir("mista", grafo, consultas, configuracao, agendador));
+            }
+            return fases;
+        } finally {
+            agendador.shutdownNow();
+        }
+    }
+
+    // Roda uma fase inteira (laço fechado ou aberto) enquanto observa o GC.
+    private static Fase medir(String nome, Grafo grafo, List<Consulta> consultas, Configuracao configuracao,
+                              ScheduledExecutorService agendador) throws InterruptedException {
+        Map<String, EstatisticaAlgoritmo> estatisticas = new TreeMap<>();
+        for (Consulta consulta : consultas) {
+            estatisticas.computeIfAbsent(consulta.algoritmo(), a -> new EstatisticaAlgoritmo());
+        }
+        long total = (long) consultas.size() * configuracao.repeticoes();
+
+        // Começa a fase sem lixo da anterior, e dá tempo para a notificação dessa coleta
+        // chegar antes de o monitor começar a ouvir.
+        System.gc();
+        Thread.sleep(200);
+        try (MonitorGc monitor = new MonitorGc()) {
+            long inicio = System.nanoTime();
+            if (configuracao.taxa() > 0) {
+                lacoAberto(grafo, consultas, total, configuracao, estatisticas, agendador);
+            } else {
+                lacoFechado(grafo, consultas, total, configuracao, estatisticas, agendador);
+            }
+            long duracao = System.nanoTime() - inicio;
+            Thread.sleep(50); // As notificações do GC chegam de forma assíncrona.
+            return new Fase(nome, duracao, estatisticas, monitor.resumo());
+        }
+    }
+
+    // Cada thread pega a próxima consulta assim que termina a anterior.
+    private static void lacoFechado(Grafo grafo, List<Consulta> consultas, long total, Configuracao configuracao,
+                                    Map<String, EstatisticaAlgoritmo> estatisticas,
+                                    ScheduledExecutorService agendador) throws InterruptedException {
+        AtomicLong proxima = new AtomicLong();
+        Thread[] threads = new Thread[configuracao.concorrencia()];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                long i;
+                while ((i = proxima.getAndIncrement()) < total) {
+                    Consulta consulta = consultas.get((int) (i % consultas.size()));
+                    long inicio = System.nanoTime();
+                    rodar(grafo, consulta, inicio, configuracao.timeoutMs(), estatisticas.get(consulta.algoritmo()), agendador);
+                }
+            }, "carga-" + t);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    // As consultas têm hora marcada; se as threads estiverem ocupadas, esperam na fila
+    // e essa espera conta na latência de resposta.
+    private static void lacoAberto(Grafo grafo, List<Consulta> consultas, long total, Configuracao configuracao,
+                                   Map<String, EstatisticaAlgoritmo> estatisticas,
+                                   ScheduledExecutorService agendador) throws InterruptedException {
+        AtomicInteger numeroThread = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(configuracao.concorrencia(),
+                r -> new Thread(r, "carga-" + numeroThread.getAndIncrement()));
+        double intervalo = 1e9 / configuracao.taxa();
+        long inicio = System.nanoTime();
+        try {
+            for (long i = 0; i < total; i++) {
+                long marcada = inicio + (long) (i * intervalo);
+                long espera;
+                while ((espera = marcada - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                Consulta consulta = consultas.get((int) (i % consultas.size()));
+                executor.execute(() -> rodar(grafo, consulta, marcada, configuracao.timeoutMs(),
+                        estatisticas.get(consulta.algoritmo()), agendador));
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * // Função: rodar
+     * // Descrição: Executa uma consulta na thread atual e registra latência e alocação.
+     * // Entrada: grafo (Grafo) - O grafo.
+     * //          consulta (Consulta) - A consulta.
+     * //          marcada (long) - Hora (System.nanoTime) em que a consulta deveria começar.
+     * //          timeoutMs (long) - Prazo (0 = sem prazo).
+     * //          estatistica (EstatisticaAlgoritmo) - Onde registrar.
+     * //          agendador (ScheduledExecutorService) - Quem dispara o cancelamento.
+     * // Saída: Nenhuma.
+     */
+    private static void rodar(Grafo grafo, Consulta consulta, long marcada, long timeoutMs,
+                              EstatisticaAlgoritmo estatistica, ScheduledExecutorService agendador) {
+        AtomicBoolean cancelado = new AtomicBoolean(false);
+        ScheduledFuture<?> prazo = timeoutMs > 0
+                ? agendador.schedule(() -> cancelado.set(true), timeoutMs, TimeUnit.MILLISECONDS)
+                : null;
+
+        long bytesAntes = Alocacao.bytesDaThread();
+        long inicio = System.nanoTime();
+        ResultadoBusca resultado = switch (consulta.algoritmo()) {
+            case "dfs" -> DFS.buscar(grafo, consulta.origem(), consulta.destino(), cancelado);
+            case "dijkstra" -> Dijkstra.buscar(grafo, consulta.origem(), consulta.destino(), consulta.limiteFio(), cancelado);
+            default -> AEstrela.buscar(grafo, consulta.origem(), consulta.destino(), cancelado);
+        };
+        long fim = System.nanoTime();
+        long bytesDepois = Alocacao.bytesDaThread();
+
+        if (prazo != null) {
+            prazo.cancel(false);
+        }
+        estatistica.servico.registrar(fim - inicio);
+        estatistica.resposta.registrar(fim - marcada);
+        if (bytesAntes >= 0 && bytesDepois >= 0) {
+            estatistica.bytesAlocados.add(bytesDepois - bytesAntes);
+        }
+        if (resultado == null) {
+            estatistica.canceladas.increment();
+        } else if (resultado.encontrado()) {
+            estatistica.encontradas.increment();
+        }
+    }
+
+    /**
+     * // Função: imprimir
+     * // Descrição: Mostra o relatório de uma fase: vazão, percentis de latência e
+     * //            alocação por algoritmo, e as pausas do GC da fase.
+     * // Entrada: fase (Fase) - A fase medida.
+     * //          configuracao (Configuracao) - Para mostrar o modo usado.
+     * //          saida (PrintStream) - Onde imprimir.
+     * // Saída: Nenhuma.
+     */
+    public static void imprimir(Fase fase, Configuracao configuracao, PrintStream saida) {
+        double segundos = fase.duracaoNanos() / 1e9;
+        long totalConsultas = 0;
+        for (EstatisticaAlgoritmo estatistica : fase.porAlgoritmo().values()) {
+            totalConsultas += estatistica.resposta.contagem();
+        }
+
+        saida.println();
+        saida.printf("=== Fase: %s (%s) ===%n", fase.nome(), configuracao.taxa() > 0
+                ? String.format("taxa fixa de %.0f consultas/s, até %d threads", configuracao.taxa(), configuracao.concorrencia())
+                : String.format("concorrência fixa de %d threads", configuracao.concorrencia()));
+        saida.printf("Duração: %.2f s | Consultas: %d | Vazão total: %.1f consultas/s%n",
+                segundos, totalConsultas, totalConsultas / segundos);
+
+        for (Map.Entry<String, EstatisticaAlgoritmo> entrada : fase.porAlgoritmo().entrySet()) {
+            EstatisticaAlgoritmo estatistica = entrada.getValue();
+            long consultas = estatistica.resposta.contagem();
+            saida.printf("%n[%s] %d consultas (%.1f/s), %d encontradas, %d canceladas%n",
+                    entrada.getKey(), consultas, consultas / segundos, estatistica.getEncontradas(), estatistica.getCanceladas());
+            imprimirLatencias(saida, "resposta", estatistica.resposta);
+            if (configuracao.taxa() > 0) {
+                imprimirLatencias(saida, "serviço ", estatistica.servico);
+            }
+            long bytes = estatistica.getBytesAlocados();
+            saida.printf("  alocação: %.1f MB/s, %.1f KB por consulta%n",
+                    bytes / segundos / (1024.0 * 1024.0), consultas == 0 ? 0.0 : bytes / 1024.0 / consultas);
+        }
+
+        Pausas pausas = fase.pausas();
+        saida.printf("%nGC: %d pausas, %d ms no total (%.2f%% do tempo)", pausas.quantidade(), pausas.totalMs(),
+                100.0 * pausas.totalMs() / Math.max(1, fase.duracaoNanos() / 1_000_000));
+        if (pausas.quantidade() > 0) {
+            saida.printf(", p50 %d ms, p99 %d ms, máxima %d ms", pausas.duracoesMs().percentil(50),
+                    pausas.duracoesMs().percentil(99), pausas.duracoesMs().maximo());
+        }
+        saida.println();
+    }
+
+    private static void imprimirLatencias(PrintStream saida, String rotulo, Histograma histograma) {
+        StringBuilder linha = new StringBuilder("  " + rotulo + " (ms): média " + ms(Math.round(histograma.media())));
+        for (double percentil : PERCENTIS) {
+            linha.append(" | p").append(percentil == Math.floor(percentil) ? String.valueOf((int) percentil) : String.valueOf(percentil))
+                    .append(' ').append(ms(histograma.percentil(percentil)));
+        }
+        linha.append(" | máx ").append(ms(histograma.maximo()));
+        saida.println(linha);
+    }
+
+    private static String ms(long nanos) {
+        return String.format("%.3f", nanos / 1e6);
+    }
+
+    /**
+     * // Classe: Alocacao
+     * // Descrição: Lê quantos bytes a thread atual já alocou (extensão da HotSpot).
+     * //            Devolve -1 se a JVM não oferecer essa medida.
+     */
+    private static final class Alocacao {
+        private static final com.sun.management.ThreadMXBean THREADS = iniciar();
+
+        private static com.sun.management.ThreadMXBean iniciar() {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+            return null;
+        }
+
+        static long bytesDaThread() {
+            return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * // Classe: MonitorGc
+     * // Descrição: Escuta as notificações dos coletores de lixo enquanto está aberto e
+     * //            registra a duração de cada pausa. Ciclos concorrentes (que não param
+     * //            a aplicação, como o "end of GC cycle" do ZGC) não são contados.
+     */
+    private static final class MonitorGc implements AutoCloseable {
+        private final Histograma duracoes = new Histograma();
+        private final LongAdder totalMs = new LongAdder();
+        private final List<NotificationEmitter> emissores = new ArrayList<>();
+        private final NotificationListener ouvinte = (notificacao, contexto) -> {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notificacao.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notificacao.getUserData());
+            if (info.getGcAction().contains("cycle")) {
+                return;
+            }
+            long duracao = info.getGcInfo().getDuration();
+            duracoes.registrar(duracao);
+            totalMs.add(duracao);
+        };
+
+        MonitorGc() {
+            for (GarbageCollectorMXBean coletor : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (coletor instanceof NotificationEmitter emissor) {
+                    emissor.addNotificationListener(ouvinte, null, null);
+                    emissores.add(emissor);
+                }
+            }
+        }
+
+        Pausas resumo() {
+            return new Pausas(duracoes.contagem(), totalMs.sum(), duracoes);
+        }
+
+        @Override
+        public void close() {
+            for (NotificationEmitter emissor : emissores) {
+                try {
+                    emissor.removeNotificationListener(ouvinte);
+                } catch (ListenerNotFoundException e) {
+                    // Já removido.
+                }
+            }
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package grafo;
 
 public class Aresta {
+    private final int id; // Posição da aresta no índice de arestas do grafo
+    private final No origem;
     private No destino;
     private int peso;
 
-    public Aresta(No destino, int peso) {
+    public Aresta(int id, No origem, No destino, int peso) {
+        this.id = id;
+        this.origem = origem;
         this.destino = destino;
         this.peso = peso;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public No getOrigem() {
+        return origem;
+    }
+
     public No getDestino() {
         return destino;
     }
@@ -16,4 +28,9 @@ public class Aresta {
     public int getPeso() {
         return peso;
     }
-}
\ No newline at end of file
+
+    // Só o grafo altera o peso (ex: ao juntar arestas repetidas).
+    void setPeso(int peso) {
+        this.peso = peso;
+    }
+}
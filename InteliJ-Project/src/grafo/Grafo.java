@@ -1,42 +1,228 @@
 package grafo;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class Grafo {
-    private Map<String, No> nos;
+    private final TabelaSimbolos tabela;
+    private final List<No> nosPorId; // nosPorId.get(id) é o nó cujo label tem esse id na tabela
+    private final List<Aresta> arestasPorId; // arestasPorId.get(id) é a aresta com esse id (null se removida)
+    // (origem, destino) -> aresta, usado só durante a montagem para juntar linhas repetidas.
+    // Depois de 'ordenarAdjacencias' vira null e a consulta passa a ser uma busca binária
+    // na lista de arestas (ordenada) do nó de origem.
+    private Map<Long, Aresta> indiceMontagem;
+    private int quantidadeArestas;
     private boolean orientado;
 
     public Grafo() {
-        this.nos = new HashMap<>();
+        this(new TabelaSimbolos());
+    }
+
+    // Usa uma tabela de símbolos já existente (ex: aberta com TabelaSimbolos.mapear),
+    // assim os nós mantêm os mesmos ids entre execuções.
+    public Grafo(TabelaSimbolos tabela) {
+        this.tabela = tabela;
+        this.nosPorId = new ArrayList<>(tabela.tamanho());
+        this.arestasPorId = new ArrayList<>();
+        this.indiceMontagem = new HashMap<>();
         this.orientado = false;
+        garantirNos();
     }
 
     public void setNo(String label){
-        nos.computeIfAbsent(label, No::new);
+        obterNo(label, 0, label.length());
     }
 
-    public void setAresta(String labelOrigem, String labelDestino, int peso){
-        setNo(labelOrigem);
-        setNo(labelDestino);
+    /**
+     * // Função: obterNo
+     * // Descrição: Devolve o id do nó cujo label são os caracteres [de, ate) do texto,
+     * //            criando o nó se ele ainda não existir. Serve para o leitor de arquivo
+     * //            não precisar criar uma String por label lido.
+     * // Entrada: texto (CharSequence) - Texto que contém o label.
+     * //          de (int), ate (int) - Intervalo do label dentro do texto.
+     * // Saída: O id do nó.
+     */
+    public int obterNo(CharSequence texto, int de, int ate) {
+        int id = tabela.obterOuCriar(texto, de, ate);
+        garantirNos();
+        return id;
+    }
+
+    // Cria os objetos No que faltam para os ids que a tabela já conhece.
+    private void garantirNos() {
+        while (nosPorId.size() < tabela.tamanho()) {
+            nosPorId.add(new No(nosPorId.size(), tabela));
+        }
+    }
 
-        No noOrigem = nos.get(labelOrigem);
-        No noDestino = nos.get(labelDestino);
+    public void setAresta(String labelOrigem, String labelDestino, int peso){
+        int idOrigem = obterNo(labelOrigem, 0, labelOrigem.length());
+        int idDestino = obterNo(labelDestino, 0, labelDestino.length());
+        setAresta(idOrigem, idDestino, peso);
+    }
 
-        noOrigem.setAresta(noDestino, peso);
+    public void setAresta(int idOrigem, int idDestino, int peso){
+        inserirAresta(idOrigem, idDestino, peso);
 
         if(!this.orientado){
-            noDestino.setAresta(noOrigem, peso);
+            inserirAresta(idDestino, idOrigem, peso);
+        }
+    }
+
+    /**
+     * // Função: inserirAresta
+     * // Descrição: Cria a aresta origem -> destino, ou, se ela já existir (linha
+     * //            'pode_ir' repetida), apenas fica com o menor dos dois pesos. Assim
+     * //            nunca há arestas paralelas repetidas para as buscas relaxarem.
+     * // Entrada: idOrigem (int), idDestino (int) - Os nós ligados.
+     * //          peso (int) - O custo da aresta.
+     * // Saída: A aresta (nova ou já existente).
+     */
+    private Aresta inserirAresta(int idOrigem, int idDestino, int peso) {
+        Aresta existente = getAresta(idOrigem, idDestino);
+        if (existente != null) {
+            if (peso < existente.getPeso()) {
+                existente.setPeso(peso);
+            }
+            return existente;
+        }
+
+        No noOrigem = nosPorId.get(idOrigem);
+        Aresta nova = new Aresta(arestasPorId.size(), noOrigem, nosPorId.get(idDestino), peso);
+        arestasPorId.add(nova);
+        quantidadeArestas++;
+        if (indiceMontagem != null) {
+            indiceMontagem.put(chave(idOrigem, idDestino), nova);
+            noOrigem.setAresta(nova);
+        } else {
+            noOrigem.setArestaOrdenada(nova);
+        }
+        return nova;
+    }
+
+    /**
+     * // Função: removerAresta
+     * // Descrição: Remove a aresta origem -> destino (e a volta, se o grafo não for
+     * //            orientado). O id da aresta removida não é reaproveitado.
+     * // Entrada: idOrigem (int), idDestino (int) - Os nós ligados.
+     * // Saída: true se a aresta existia.
+     */
+    public boolean removerAresta(int idOrigem, int idDestino) {
+        boolean existia = removerArestaDirigida(idOrigem, idDestino);
+        if (!this.orientado) {
+            removerArestaDirigida(idDestino, idOrigem);
+        }
+        return existia;
+    }
+
+    private boolean removerArestaDirigida(int idOrigem, int idDestino) {
+        Aresta aresta = getAresta(idOrigem, idDestino);
+        if (aresta == null) {
+            return false;
+        }
+        if (indiceMontagem != null) {
+            indiceMontagem.remove(chave(idOrigem, idDestino));
+        }
+        quantidadeArestas--;
+        arestasPorId.set(aresta.getId(), null);
+        aresta.getOrigem().removerAresta(aresta);
+        return true;
+    }
+
+    /**
+     * // Função: alterarPeso
+     * // Descrição: Define o peso da aresta origem -> destino (e da volta, se o grafo
+     * //            não for orientado), criando a aresta se ela não existir. Diferente
+     * //            do 'setAresta', o peso novo vale mesmo se for maior que o antigo.
+     * // Entrada: idOrigem (int), idDestino (int) - Os nós ligados.
+     * //          peso (int) - O novo custo da aresta.
+     * // Saída: Nenhuma.
+     */
+    public void alterarPeso(int idOrigem, int idDestino, int peso) {
+        alterarPesoDirigido(idOrigem, idDestino, peso);
+        if (!this.orientado) {
+            alterarPesoDirigido(idDestino, idOrigem, peso);
         }
     }
 
+    private void alterarPesoDirigido(int idOrigem, int idDestino, int peso) {
+        Aresta aresta = inserirAresta(idOrigem, idDestino, peso);
+        aresta.setPeso(peso);
+    }
+
+    private static long chave(int idOrigem, int idDestino) {
+        return ((long) idOrigem << 32) | (idDestino & 0xFFFFFFFFL);
+    }
+
+    /**
+     * // Função: ordenarAdjacencias
+     * // Descrição: Ordena as arestas de cada nó pelo id do destino. É chamada uma vez,
+     * //            ao fim da montagem do grafo (ex: pelo LeitorArquivo). A partir daqui o
+     * //            índice de montagem é descartado: novas arestas entram já na posição
+     * //            certa e as consultas usam busca binária na adjacência.
+     * // Entrada: Nenhuma.
+     * // Saída: Nenhuma.
+     */
+    public void ordenarAdjacencias() {
+        for (No no : nosPorId) {
+            no.ordenarArestas();
+        }
+        indiceMontagem = null;
+    }
+
+    // Consulta da aresta origem -> destino (null se não existir): pelo índice durante a
+    // montagem, e por busca binária na adjacência da origem (O(log grau)) depois dela.
+    public Aresta getAresta(int idOrigem, int idDestino) {
+        if (indiceMontagem != null) {
+            return indiceMontagem.get(chave(idOrigem, idDestino));
+        }
+        return nosPorId.get(idOrigem).buscarAresta(idDestino);
+    }
+
+    public Aresta getAresta(int id) {
+        return arestasPorId.get(id);
+    }
+
+    // Quantidade de ids de aresta já usados (maior id + 1), inclusive de arestas
+    // removidas. É o tamanho certo para vetores indexados pelo id da aresta.
+    public int getTotalArestas() {
+        return arestasPorId.size();
+    }
+
+    // Quantidade de arestas que existem agora no grafo.
+    public int getQuantidadeArestas() {
+        return quantidadeArestas;
+    }
+
+    // Todas as arestas existentes (sem as removidas), em ordem de id.
+    public List<Aresta> getTodasArestas() {
+        return arestasPorId.stream().filter(Objects::nonNull).toList();
+    }
+
     public No getNo(String label) {
-        return this.nos.get(label);
+        int id = tabela.buscar(label);
+        return id < 0 ? null : this.nosPorId.get(id);
+    }
+
+    public No getNo(int id) {
+        return this.nosPorId.get(id);
+    }
+
+    public int getTotalNos() {
+        return this.nosPorId.size();
     }
 
     public Collection<No> getTodosNos() {
-        return this.nos.values();
+        return Collections.unmodifiableList(this.nosPorId);
+    }
+
+    public TabelaSimbolos getTabela() {
+        return tabela;
     }
 
     public boolean isOrientado() {
@@ -0,0 +1,302 @@
+package grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * // Classe: GrafoVersionado
+ * // Descrição: Grafo para uso concorrente, com leituras sem trava. Quem lê pega a
+ * //            versão atual (uma VersaoGrafo imutável) e faz toda a busca nela. Quem
+ * //            escreve monta uma versão nova por cópia-na-escrita (copiando só os
+ * //            blocos e listas de adjacência que mudaram) e a publica de uma vez com
+ * //            uma referência atômica. Assim uma alteração nunca aparece "pela metade"
+ * //            para uma busca em andamento, e as buscas nunca esperam pelos escritores.
+ * //
+ * //            Escritores são atendidos um de cada vez (entre si eles usam uma trava);
+ * //            várias mudanças feitas no mesmo 'atualizar' saem em uma única versão.
+ */
+public final class GrafoVersionado {
+
+    private final AtomicReference<VersaoGrafo> atual;
+
+    private GrafoVersionado(VersaoGrafo inicial) {
+        this.atual = new AtomicReference<>(inicial);
+    }
+
+    /**
+     * // Função: de
+     * // Descrição: Cria a versão 0 a partir de um Grafo já montado (ex: pelo LeitorArquivo).
+     * //            Os ids dos nós e das arestas são mantidos.
+     * // Entrada: grafo (Grafo) - O grafo de origem.
+     * // Saída: O GrafoVersionado com a versão 0 publicada.
+     * // Pré-Condição: Depois disso, as mudanças devem ser feitas pelo GrafoVersionado, e
+     * //               não mais pelo Grafo (os dois compartilham a tabela de símbolos).
+     */
+    public static GrafoVersionado de(Grafo grafo) {
+        int totalNos = grafo.getTotalNos();
+        int blocos = Math.max(1, (totalNos + VersaoGrafo.MASCARA_BLOCO) >>> VersaoGrafo.BITS_BLOCO);
+        VersaoGrafo.Adjacencia[][] adjacencias = new VersaoGrafo.Adjacencia[blocos][];
+        int[][] heuristicas = new int[blocos][];
+        for (int b = 0; b < blocos; b++) {
+            adjacencias[b] = new VersaoGrafo.Adjacencia[VersaoGrafo.TAMANHO_BLOCO];
+            heuristicas[b] = new int[VersaoGrafo.TAMANHO_BLOCO];
+        }
+
+        for (No no : grafo.getTodosNos()) {
+            int id = no.getId();
+            List<Aresta> arestas = new ArrayList<>(no.getArestas());
+            arestas.sort((a, b) -> Integer.compare(a.getDestino().getId(), b.getDestino().getId()));
+            int[] destinos = new int[arestas.size()];
+            int[] pesos = new int[arestas.size()];
+            int[] ids = new int[arestas.size()];
+            for (int i = 0; i < arestas.size(); i++) {
+                destinos[i] = arestas.get(i).getDestino().getId();
+                pesos[i] = arestas.get(i).getPeso();
+                ids[i] = arestas.get(i).getId();
+            }
+            adjacencias[id >>> VersaoGrafo.BITS_BLOCO][id & VersaoGrafo.MASCARA_BLOCO] =
+                    new VersaoGrafo.Adjacencia(destinos, pesos, ids);
+            heuristicas[id >>> VersaoGrafo.BITS_BLOCO][id & VersaoGrafo.MASCARA_BLOCO] = no.getHeuristica();
+        }
+
+        return new GrafoVersionado(new VersaoGrafo(0, grafo.getTabela(), grafo.isOrientado(), totalNos,
+                grafo.getQuantidadeArestas(), grafo.getTotalArestas(), adjacencias, heuristicas));
+    }
+
+    /**
+     * // Função: atual
+     * // Descrição: Devolve a versão publicada mais recente, sem trava. A busca deve
+     * //            guardar essa referência e usá-la até o fim.
+     * // Entrada: Nenhuma.
+     * // Saída: A VersaoGrafo atual.
+     */
+    public VersaoGrafo atual() {
+        return atual.get();
+    }
+
+    /**
+     * // Função: atualizar
+     * // Descrição: Aplica um conjunto de mudanças sobre a versão atual e publica o
+     * //            resultado como uma única versão nova.
+     * // Entrada: mudancas (Consumer<Edicao>) - Recebe a Edicao e faz as alterações.
+     * // Saída: A versão publicada (ou a atual, se as mudanças não alteraram nada).
+     */
+    public synchronized VersaoGrafo atualizar(Consumer<Edicao> mudancas) {
+        Edicao edicao = new Edicao(atual.get());
+        mudancas.accept(edicao);
+        if (!edicao.alterou) {
+            // Nada mudou: não publica uma versão igual à atual.
+            return edicao.base;
+        }
+        VersaoGrafo nova = edicao.publicar();
+        atual.set(nova);
+        return nova;
+    }
+
+    // Atalhos para uma mudança só (cada um publica uma versão).
+
+    public VersaoGrafo setAresta(String labelOrigem, String labelDestino, int peso) {
+        return atualizar(e -> e.setAresta(labelOrigem, labelDestino, peso));
+    }
+
+    public VersaoGrafo alterarPeso(String labelOrigem, String labelDestino, int peso) {
+        return atualizar(e -> e.alterarPeso(labelOrigem, labelDestino, peso));
+    }
+
+    public VersaoGrafo removerAresta(String labelOrigem, String labelDestino) {
+        return atualizar(e -> e.removerAresta(labelOrigem, labelDestino));
+    }
+
+    public VersaoGrafo setHeuristica(String label, int heuristica) {
+        return atualizar(e -> e.setHeuristica(label, heuristica));
+    }
+
+    /**
+     * // Classe: Edicao
+     * // Descrição: Rascunho de uma versão nova. Começa com o vetor de blocos da versão
+     * //            atual copiado; cada bloco só é copiado na primeira vez que é alterado
+     * //            (os outros continuam compartilhados). Só existe durante o 'atualizar'.
+     */
+    public static final class Edicao {
+        private final VersaoGrafo base;
+        private final TabelaSimbolos tabela;
+        private final boolean orientado;
+        private VersaoGrafo.Adjacencia[][] adjacencias;
+        private int[][] heuristicas;
+        private boolean[] adjacenciaCopiada;
+        private boolean[] heuristicaCopiada;
+        private int totalNos;
+        private int totalArestas;
+        private int proximoIdAresta;
+        private boolean alterou = false;
+
+        private Edicao(VersaoGrafo base) {
+            this.base = base;
+            this.tabela = base.getTabela();
+            this.orientado = base.isOrientado();
+            this.adjacencias = base.getAdjacencias().clone();
+            this.heuristicas = base.getHeuristicas().clone();
+            this.adjacenciaCopiada = new boolean[adjacencias.length];
+            this.heuristicaCopiada = new boolean[heuristicas.length];
+            this.totalNos = base.getTotalNos();
+            this.totalArestas = base.getQuantidadeArestas();
+            this.proximoIdAresta = base.getProximoIdAresta();
+        }
+
+        /**
+         * // Função: setAresta
+         * // Descrição: Como um 'pode_ir': cria a aresta (e a volta, se o grafo não for
+         * //            orientado) ou, se ela já existir, fica com o menor peso.
+         * // Entrada: labelOrigem (String), labelDestino (String) - Os nós (criados se preciso).
+         * //          peso (int) - O custo da aresta.
+         * // Saída: Nenhuma.
+         */
+        public void setAresta(String labelOrigem, String labelDestino, int peso) {
+            int origem = obterNo(labelOrigem);
+            int destino = obterNo(labelDestino);
+            gravarAresta(origem, destino, peso, true);
+            if (!orientado) {
+                gravarAresta(destino, origem, peso, true);
+            }
+        }
+
+        // Define o peso da aresta (criando-a se preciso), mesmo que seja maior que o atual.
+        public void alterarPeso(String labelOrigem, String labelDestino, int peso) {
+            int origem = obterNo(labelOrigem);
+            int destino = obterNo(labelDestino);
+            gravarAresta(origem, destino, peso, false);
+            if (!orientado) {
+                gravarAresta(destino, origem, peso, false);
+            }
+        }
+
+        // Remove a aresta (e a volta, se o grafo não for orientado). true se ela existia.
+        public boolean removerAresta(String labelOrigem, String labelDestino) {
+            int origem = tabela.buscar(labelOrigem);
+            int destino = tabela.buscar(labelDestino);
+            if (origem < 0 || destino < 0 || origem >= totalNos || destino >= totalNos) {
+                return false;
+            }
+            boolean existia = apagarAresta(origem, destino);
+            if (!orientado) {
+                apagarAresta(destino, origem);
+            }
+            return existia;
+        }
+
+        public void setHeuristica(String label, int heuristica) {
+            int id = obterNo(label);
+            int bloco = id >>> VersaoGrafo.BITS_BLOCO;
+            if (!heuristicaCopiada[bloco]) {
+                heuristicas[bloco] = heuristicas[bloco].clone();
+                heuristicaCopiada[bloco] = true;
+            }
+            heuristicas[bloco][id & VersaoGrafo.MASCARA_BLOCO] = heuristica;
+            alterou = true;
+        }
+
+        private int obterNo(String label) {
+            int id = tabela.obterOuCriar(label);
+            if (id >= totalNos) {
+                totalNos = id + 1;
+                garantirBlocos(totalNos);
+                alterou = true;
+            }
+            return id;
+        }
+
+        private void gravarAresta(int origem, int destino, int peso, boolean manterMenor) {
+            VersaoGrafo.Adjacencia atual = adjacencia(origem);
+            int posicao = VersaoGrafo.posicao(atual, destino);
+            VersaoGrafo.Adjacencia nova;
+
+            if (posicao >= 0) {
+                if (atual.pesos()[posicao] == peso || (manterMenor && atual.pesos()[posicao] < peso)) {
+                    return;
+                }
+                int[] pesos = atual.pesos().clone();
+                pesos[posicao] = peso;
+                nova = new VersaoGrafo.Adjacencia(atual.destinos(), pesos, atual.ids());
+            } else {
+                int insercao = -posicao - 1;
+                nova = new VersaoGrafo.Adjacencia(
+                        inserir(atual.destinos(), insercao, destino),
+                        inserir(atual.pesos(), insercao, peso),
+                        inserir(atual.ids(), insercao, proximoIdAresta++));
+                totalArestas++;
+            }
+            definirAdjacencia(origem, nova);
+        }
+
+        private boolean apagarAresta(int origem, int destino) {
+            VersaoGrafo.Adjacencia atual = adjacencia(origem);
+            int posicao = VersaoGrafo.posicao(atual, destino);
+            if (posicao < 0) {
+                return false;
+            }
+            definirAdjacencia(origem, new VersaoGrafo.Adjacencia(
+                    remover(atual.destinos(), posicao),
+                    remover(atual.pesos(), posicao),
+                    remover(atual.ids(), posicao)));
+            totalArestas--;
+            return true;
+        }
+
+        private VersaoGrafo.Adjacencia adjacencia(int id) {
+            VersaoGrafo.Adjacencia adjacencia = adjacencias[id >>> VersaoGrafo.BITS_BLOCO][id & VersaoGrafo.MASCARA_BLOCO];
+            return adjacencia == null ? VersaoGrafo.Adjacencia.VAZIA : adjacencia;
+        }
+
+        private void definirAdjacencia(int id, VersaoGrafo.Adjacencia adjacencia) {
+            int bloco = id >>> VersaoGrafo.BITS_BLOCO;
+            if (!adjacenciaCopiada[bloco]) {
+                adjacencias[bloco] = adjacencias[bloco].clone();
+                adjacenciaCopiada[bloco] = true;
+            }
+            adjacencias[bloco][id & VersaoGrafo.MASCARA_BLOCO] = adjacencia;
+            alterou = true;
+        }
+
+        // Blocos novos (para nós criados nesta edição) já nascem como cópias próprias.
+        private void garantirBlocos(int nos) {
+            int blocos = (nos + VersaoGrafo.MASCARA_BLOCO) >>> VersaoGrafo.BITS_BLOCO;
+            int antigos = adjacencias.length;
+            if (blocos <= antigos) {
+                return;
+            }
+            adjacencias = Arrays.copyOf(adjacencias, blocos);
+            heuristicas = Arrays.copyOf(heuristicas, blocos);
+            adjacenciaCopiada = Arrays.copyOf(adjacenciaCopiada, blocos);
+            heuristicaCopiada = Arrays.copyOf(heuristicaCopiada, blocos);
+            for (int b = antigos; b < blocos; b++) {
+                adjacencias[b] = new VersaoGrafo.Adjacencia[VersaoGrafo.TAMANHO_BLOCO];
+                heuristicas[b] = new int[VersaoGrafo.TAMANHO_BLOCO];
+                adjacenciaCopiada[b] = true;
+                heuristicaCopiada[b] = true;
+            }
+        }
+
+        private VersaoGrafo publicar() {
+            return new VersaoGrafo(base.getNumero() + 1, tabela, orientado, totalNos, totalArestas,
+                    proximoIdAresta, adjacencias, heuristicas);
+        }
+
+        private static int[] inserir(int[] vetor, int posicao, int valor) {
+            int[] novo = new int[vetor.length + 1];
+            System.arraycopy(vetor, 0, novo, 0, posicao);
+            novo[posicao] = valor;
+            System.arraycopy(vetor, posicao, novo, posicao + 1, vetor.length - posicao);
+            return novo;
+        }
+
+        private static int[] remover(int[] vetor, int posicao) {
+            int[] novo = new int[vetor.length - 1];
+            System.arraycopy(vetor, 0, novo, 0, posicao);
+            System.arraycopy(vetor, posicao + 1, novo, posicao, vetor.length - posicao - 1);
+            return novo;
+        }
+    }
+}
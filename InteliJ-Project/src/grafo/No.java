@@ -17,44 +17,106 @@ public class No {
     // PRETO: nó e todos os seus vizinhos já foram explorados.
     public enum Cor { BRANCO, CINZA, PRETO }
 
-    private final String label; // Nome do nó, ex: "A", "B", "Casa"
+    private final int id; // Número sequencial do nó no grafo (0, 1, 2, ...)
+    private final TabelaSimbolos tabela; // Onde o nome do nó (ex: "A", "Casa") está guardado
     private int heuristica; // Custo estimado do nó até o destino (usado no A*)
     private final List<Aresta> arestas; // Lista de "saídas" do nó para seus vizinhos
 
     // Atributos de controle para os algoritmos de busca
     private Cor cor; // Cor atual do nó na busca
     private No predecessor; // De qual nó viemos para chegar até este (para reconstruir o caminho)
+    private int idArestaPredecessora; // Id da aresta usada para chegar até este nó (-1 se nenhuma)
 
     /**
      * // Função: Construtor da classe No
      * // Descrição: Inicializa um novo objeto Nó com seus valores padrão.
      * //            Todo nó começa com a cor BRANCA, sem predecessor, heurística 0
      * //            e uma lista de arestas vazia.
-     * // Entrada: label (String) - O identificador único do nó.
+     * // Entrada: id (int) - O id do label do nó na tabela de símbolos do grafo.
+     * //          tabela (TabelaSimbolos) - A tabela onde o label está guardado.
      * // Saída: Nenhuma (cria uma instância da classe).
-     * // Pré-Condição: O label não deve ser nulo.
+     * // Pré-Condição: O id deve existir na tabela.
      * // Pós-Condição: Um novo objeto Nó é criado e está pronto para ser usado.
      */
-    public No(String label) {
-        this.label = label;
+    public No(int id, TabelaSimbolos tabela) {
+        this.id = id;
+        this.tabela = tabela;
         this.heuristica = 0;
         this.arestas = new ArrayList<>();
         this.cor = Cor.BRANCO;
         this.predecessor = null;
+        this.idArestaPredecessora = -1;
     }
 
     /**
      * // Função: setAresta
-     * // Descrição: Cria e adiciona uma nova aresta que sai deste nó em direção
-     * //            a um nó de destino, com um peso definido.
-     * // Entrada: destino (No) - O nó para onde a aresta aponta.
-     * //          peso (int) - O custo para atravessar essa aresta.
+     * // Descrição: Adiciona uma aresta que sai deste nó. A aresta é criada pelo grafo,
+     * //            que cuida do índice de arestas (ids e junção de arestas repetidas).
+     * // Entrada: aresta (Aresta) - A aresta, já com id, destino e peso.
      * // Saída: Nenhuma.
-     * // Pré-Condição: O nó de destino deve ser um objeto válido.
-     * // Pós-Condição: A lista de arestas do nó atual contém uma nova aresta.
+     * // Pré-Condição: A origem da aresta deve ser este nó.
+     * // Pós-Condição: A lista de arestas do nó atual contém a nova aresta.
      */
-    public void setAresta(No destino, int peso) {
-        this.arestas.add(new Aresta(destino, peso));
+    void setAresta(Aresta aresta) {
+        this.arestas.add(aresta);
+    }
+
+    /**
+     * // Função: setArestaOrdenada
+     * // Descrição: Adiciona uma aresta mantendo a lista ordenada pelo id do destino
+     * //            (busca binária pela posição). Usada depois que o grafo já foi montado.
+     * // Entrada: aresta (Aresta) - A aresta a inserir.
+     * // Saída: Nenhuma.
+     * // Pré-Condição: A lista de arestas já deve estar ordenada.
+     * // Pós-Condição: A lista continua ordenada e contém a nova aresta.
+     */
+    void setArestaOrdenada(Aresta aresta) {
+        this.arestas.add(posicao(aresta.getDestino().getId()), aresta);
+    }
+
+    /**
+     * // Função: buscarAresta
+     * // Descrição: Procura, por busca binária, a aresta deste nó que vai para o destino.
+     * // Entrada: idDestino (int) - O id do nó de destino.
+     * // Saída: A aresta, ou null se não existir.
+     * // Pré-Condição: A lista de arestas já deve estar ordenada.
+     */
+    Aresta buscarAresta(int idDestino) {
+        int i = posicao(idDestino);
+        if (i < this.arestas.size() && this.arestas.get(i).getDestino().getId() == idDestino) {
+            return this.arestas.get(i);
+        }
+        return null;
+    }
+
+    // Primeira posição da lista (ordenada) cujo destino não é menor que 'idDestino'.
+    private int posicao(int idDestino) {
+        int baixo = 0;
+        int alto = this.arestas.size();
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (this.arestas.get(meio).getDestino().getId() < idDestino) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    void removerAresta(Aresta aresta) {
+        this.arestas.remove(aresta);
+    }
+
+    /**
+     * // Função: ordenarArestas
+     * // Descrição: Ordena a lista de arestas pelo id do nó de destino.
+     * // Entrada: Nenhuma.
+     * // Saída: Nenhuma.
+     * // Pós-Condição: As arestas ficam em ordem crescente de destino.
+     */
+    void ordenarArestas() {
+        this.arestas.sort((a, b) -> Integer.compare(a.getDestino().getId(), b.getDestino().getId()));
     }
 
     // --- GETTERS E SETTERS ---
@@ -62,8 +124,14 @@ public class No {
     // Isso é importante para o encapsulamento, garantindo que os dados
     // só sejam alterados de forma controlada.
 
+    public int getId() {
+        return id;
+    }
+
+    // O label não fica guardado no nó: é reconstruído a partir da tabela de
+    // símbolos só quando alguém precisa dele (ex: para imprimir um caminho).
     public String getLabel() {
-        return label;
+        return tabela.label(id);
     }
 
     public int getHeuristica() {
@@ -93,4 +161,12 @@ public class No {
     public void setPredecessor(No predecessor) {
         this.predecessor = predecessor;
     }
+
+    public int getIdArestaPredecessora() {
+        return idArestaPredecessora;
+    }
+
+    public void setIdArestaPredecessora(int idArestaPredecessora) {
+        this.idArestaPredecessora = idArestaPredecessora;
+    }
 }
\ No newline at end of file
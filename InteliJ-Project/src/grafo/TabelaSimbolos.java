@@ -0,0 +1,372 @@
+package grafo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * // Classe: TabelaSimbolos
+ * // Descrição: Dicionário compacto de labels. Cada label recebe um id inteiro denso
+ * //            (0, 1, 2, ...) e seus bytes (UTF-8) ficam todos juntos em uma única
+ * //            "arena" de bytes, em vez de um objeto String por nó. A busca por label
+ * //            usa uma tabela hash de endereçamento aberto que guarda só ids, então
+ * //            a memória gasta é praticamente o tamanho dos labels + alguns ints por nó.
+ * //            O label só volta a ser uma String quando alguém pede (ex: ao imprimir
+ * //            um caminho).
+ * //
+ * //            A tabela pode ser salva em arquivo e depois aberta com 'mapear', que usa
+ * //            memória mapeada (o sistema operacional carrega as páginas sob demanda).
+ * //            Uma tabela mapeada é copiada para a memória só se receber um label novo.
+ * //
+ * //            Inserções devem ser feitas por uma thread de cada vez. Consultas
+ * //            ('buscar' e 'label') podem ser feitas por várias threads ao mesmo tempo,
+ * //            inclusive durante uma inserção, e nunca travam: a tabela só cresce (um
+ * //            label gravado nunca muda de lugar nem de id) e cada inserção publica, por
+ * //            uma referência volátil, uma foto (Rotulos) com o total e os buffers daquele
+ * //            momento. Quem guarda uma foto (ex: a VersaoGrafo) continua vendo exatamente
+ * //            os labels que existiam quando ela foi publicada.
+ */
+public final class TabelaSimbolos {
+
+    private static final int MAGICO = 0x54534D42; // "TSMB"
+    private static final int CABECALHO = 4 * Integer.BYTES;
+
+    private ByteBuffer arena;   // bytes dos labels, um após o outro
+    private IntBuffer inicios;  // inicios[id] = posição do label na arena; inicios[total] = fim
+    private IntBuffer slots;    // tabela hash: 0 = vazio, senão id + 1
+    private int total;
+    private int tamanhoArena;
+    private boolean mapeada;
+
+    // Foto mais recente, trocada a cada inserção; é a única coisa que os leitores acessam.
+    private volatile Rotulos publicada;
+
+    // Área de rascunho para codificar o label procurado sem criar objetos a cada chamada.
+    private byte[] rascunho = new byte[64];
+
+    public TabelaSimbolos() {
+        this.arena = ByteBuffer.allocate(1024);
+        this.inicios = IntBuffer.allocate(64);
+        this.slots = IntBuffer.allocate(128);
+        this.total = 0;
+        this.tamanhoArena = 0;
+        this.mapeada = false;
+        publicar();
+    }
+
+    private TabelaSimbolos(ByteBuffer arena, IntBuffer inicios, IntBuffer slots, int total, int tamanhoArena) {
+        this.arena = arena;
+        this.inicios = inicios;
+        this.slots = slots;
+        this.total = total;
+        this.tamanhoArena = tamanhoArena;
+        this.mapeada = true;
+        publicar();
+    }
+
+    public int tamanho() {
+        return total;
+    }
+
+    /**
+     * // Função: rotulos
+     * // Descrição: Devolve a foto publicada mais recente da tabela. Ela não muda mais:
+     * //            inserções posteriores publicam outra foto.
+     * // Entrada: Nenhuma.
+     * // Saída: Os Rotulos atuais.
+     */
+    public Rotulos rotulos() {
+        return publicada;
+    }
+
+    /**
+     * // Função: obterOuCriar
+     * // Descrição: Devolve o id do label formado pelos caracteres [de, ate) do texto,
+     * //            criando um id novo se o label ainda não existir. Não cria Strings.
+     * // Entrada: texto (CharSequence) - Texto que contém o label (ex: a linha do arquivo).
+     * //          de (int) - Posição inicial do label (inclusiva).
+     * //          ate (int) - Posição final do label (exclusiva).
+     * // Saída: O id do label.
+     */
+    public int obterOuCriar(CharSequence texto, int de, int ate) {
+        int tamanho = codificar(texto, de, ate);
+        int hash = hash(rascunho, tamanho);
+        // Só quem insere publica fotos, então a última publicada está completa aqui.
+        int existente = publicada.procurar(rascunho, tamanho, hash);
+        if (existente >= 0) {
+            return existente;
+        }
+
+        garantirEscrita();
+        int id = inserir(rascunho, tamanho);
+        // A tabela pode ter sido trocada ao crescer: refaz a procura do slot vazio.
+        colocarNoSlot(id, hash);
+        publicar();
+        return id;
+    }
+
+    public int obterOuCriar(CharSequence label) {
+        return obterOuCriar(label, 0, label.length());
+    }
+
+    /**
+     * // Função: buscar
+     * // Descrição: Procura o id de um label sem criá-lo, na foto mais recente (sem travas).
+     * // Entrada: label (CharSequence) - O label procurado.
+     * // Saída: O id do label, ou -1 se ele não existir.
+     */
+    public int buscar(CharSequence label) {
+        return publicada.buscar(label);
+    }
+
+    /**
+     * // Função: label
+     * // Descrição: Reconstrói a String do label de um id (cria um objeto novo a cada chamada).
+     * // Entrada: id (int) - O id do label.
+     * // Saída: O label como String.
+     */
+    public String label(int id) {
+        return publicada.label(id);
+    }
+
+    /**
+     * // Classe: Rotulos
+     * // Descrição: Foto imutável da tabela: o total de labels e os buffers do momento em
+     * //            que foi publicada. Como a tabela só cresce, os bytes e os inícios dos
+     * //            ids menores que 'total' nunca mudam. A tabela hash pode receber ids
+     * //            novos depois da publicação (nos slots que estavam vazios); eles são
+     * //            tratados como vazios, que é o que aqueles slots eram nesta foto.
+     */
+    public static final class Rotulos {
+        private final ByteBuffer arena;
+        private final IntBuffer inicios;
+        private final IntBuffer slots;
+        private final int total;
+
+        private Rotulos(ByteBuffer arena, IntBuffer inicios, IntBuffer slots, int total) {
+            this.arena = arena;
+            this.inicios = inicios;
+            this.slots = slots;
+            this.total = total;
+        }
+
+        public int tamanho() {
+            return total;
+        }
+
+        // Id do label, ou -1 se ele não existia quando esta foto foi publicada.
+        public int buscar(CharSequence label) {
+            byte[] bytes = label.toString().getBytes(StandardCharsets.UTF_8);
+            return procurar(bytes, bytes.length, hash(bytes, bytes.length));
+        }
+
+        public String label(int id) {
+            if (id < 0 || id >= total) {
+                throw new IndexOutOfBoundsException("Id de label inexistente nesta foto: " + id);
+            }
+            int inicio = inicios.get(id);
+            byte[] bytes = new byte[inicios.get(id + 1) - inicio];
+            arena.get(inicio, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int procurar(byte[] bytes, int tamanho, int hash) {
+            int mascara = slots.capacity() - 1;
+            int slot = hash & mascara;
+
+            while (true) {
+                int id = slots.get(slot) - 1;
+                if (id < 0 || id >= total) {
+                    return -1;
+                }
+                if (igual(id, bytes, tamanho)) {
+                    return id;
+                }
+                slot = (slot + 1) & mascara;
+            }
+        }
+
+        private boolean igual(int id, byte[] bytes, int tamanho) {
+            int inicio = inicios.get(id);
+            if (inicios.get(id + 1) - inicio != tamanho) {
+                return false;
+            }
+            for (int i = 0; i < tamanho; i++) {
+                if (arena.get(inicio + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Publica uma foto com o estado atual; a escrita volátil torna visíveis aos leitores
+    // todos os bytes gravados antes dela.
+    private void publicar() {
+        publicada = new Rotulos(arena, inicios, slots, total);
+    }
+
+    /**
+     * // Função: salvar
+     * // Descrição: Grava a tabela em um arquivo binário que pode ser aberto com 'mapear'.
+     * //            Formato: cabeçalho (mágico, total, tamanho da arena, tamanho da tabela
+     * //            hash), inícios (total + 1 ints), tabela hash e, por fim, a arena.
+     * // Entrada: caminho (Path) - Onde gravar (o arquivo é sobrescrito).
+     * // Saída: Nenhuma.
+     * // Lança: IOException - Se o arquivo não puder ser escrito.
+     */
+    public void salvar(Path caminho) throws IOException {
+        int capacidadeSlots = slots.capacity();
+        long tamanhoArquivo = CABECALHO + (long) (total + 1 + capacidadeSlots) * Integer.BYTES + tamanhoArena;
+
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer saida = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoArquivo);
+            saida.putInt(MAGICO).putInt(total).putInt(tamanhoArena).putInt(capacidadeSlots);
+            for (int i = 0; i <= total; i++) {
+                saida.putInt(inicios.get(i));
+            }
+            for (int i = 0; i < capacidadeSlots; i++) {
+                saida.putInt(slots.get(i));
+            }
+            saida.put(arena.slice(0, tamanhoArena));
+            saida.force();
+        }
+    }
+
+    /**
+     * // Função: mapear
+     * // Descrição: Abre uma tabela salva com 'salvar' usando memória mapeada, sem copiar
+     * //            o arquivo para a memória da JVM.
+     * // Entrada: caminho (Path) - O arquivo da tabela.
+     * // Saída: A TabelaSimbolos pronta para consultas.
+     * // Lança: IOException - Se o arquivo não existir ou não for uma tabela válida.
+     */
+    public static TabelaSimbolos mapear(Path caminho) throws IOException {
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (canal.size() < CABECALHO || dados.getInt(0) != MAGICO) {
+                throw new IOException("Arquivo não é uma tabela de símbolos válida: " + caminho);
+            }
+            int total = dados.getInt(4);
+            int tamanhoArena = dados.getInt(8);
+            int capacidadeSlots = dados.getInt(12);
+
+            int posInicios = CABECALHO;
+            int posSlots = posInicios + (total + 1) * Integer.BYTES;
+            int posArena = posSlots + capacidadeSlots * Integer.BYTES;
+            if (posArena + (long) tamanhoArena > canal.size()) {
+                throw new IOException("Tabela de símbolos truncada: " + caminho);
+            }
+
+            IntBuffer inicios = dados.slice(posInicios, (total + 1) * Integer.BYTES).asIntBuffer();
+            IntBuffer slots = dados.slice(posSlots, capacidadeSlots * Integer.BYTES).asIntBuffer();
+            ByteBuffer arena = dados.slice(posArena, tamanhoArena);
+            return new TabelaSimbolos(arena, inicios, slots, total, tamanhoArena);
+        }
+    }
+
+    // Codifica os caracteres em UTF-8 no rascunho e devolve quantos bytes foram usados.
+    // Labels ASCII (o caso comum) são copiados direto, sem passar pelo codificador.
+    private int codificar(CharSequence texto, int de, int ate) {
+        int n = ate - de;
+        if (rascunho.length < n * 3) {
+            rascunho = new byte[Math.max(n * 3, rascunho.length * 2)];
+        }
+        for (int i = 0; i < n; i++) {
+            char c = texto.charAt(de + i);
+            if (c >= 0x80) {
+                byte[] bytes = texto.subSequence(de, ate).toString().getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(bytes, 0, rascunho, 0, bytes.length);
+                return bytes.length;
+            }
+            rascunho[i] = (byte) c;
+        }
+        return n;
+    }
+
+    // Hash FNV-1a de 32 bits sobre os bytes do label.
+    private static int hash(byte[] bytes, int tamanho) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < tamanho; i++) {
+            h ^= bytes[i] & 0xFF;
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private int inserir(byte[] bytes, int tamanho) {
+        if (tamanhoArena + tamanho > arena.capacity()) {
+            arena = crescer(arena, Math.max(arena.capacity() * 2, tamanhoArena + tamanho));
+        }
+        arena.put(tamanhoArena, bytes, 0, tamanho);
+        tamanhoArena += tamanho;
+
+        if (total + 2 > inicios.capacity()) {
+            IntBuffer novo = IntBuffer.allocate(inicios.capacity() * 2);
+            novo.put(0, inicios, 0, total + 1);
+            inicios = novo;
+        }
+        int id = total++;
+        inicios.put(total, tamanhoArena);
+
+        // Mantém a tabela hash no máximo meio cheia para as sondagens serem curtas.
+        if (total * 2 > slots.capacity()) {
+            refazerSlots(slots.capacity() * 2);
+        }
+        return id;
+    }
+
+    private void colocarNoSlot(int id, int hash) {
+        int mascara = slots.capacity() - 1;
+        int slot = hash & mascara;
+        while (slots.get(slot) != 0) {
+            if (slots.get(slot) == id + 1) {
+                return; // Já foi colocado ao refazer a tabela
+            }
+            slot = (slot + 1) & mascara;
+        }
+        slots.put(slot, id + 1);
+    }
+
+    private void refazerSlots(int capacidade) {
+        slots = IntBuffer.allocate(capacidade);
+        byte[] bytes = new byte[64];
+        for (int id = 0; id < total; id++) {
+            int inicio = inicios.get(id);
+            int tamanho = inicios.get(id + 1) - inicio;
+            if (bytes.length < tamanho) {
+                bytes = new byte[tamanho];
+            }
+            arena.get(inicio, bytes, 0, tamanho);
+            colocarNoSlot(id, hash(bytes, tamanho));
+        }
+    }
+
+    // Uma tabela mapeada é somente leitura: antes da primeira inserção, copia tudo
+    // para buffers na memória da JVM.
+    private void garantirEscrita() {
+        if (!mapeada) {
+            return;
+        }
+        arena = crescer(arena, Math.max(1024, tamanhoArena * 2));
+        IntBuffer novosInicios = IntBuffer.allocate(Math.max(64, (total + 1) * 2));
+        novosInicios.put(0, inicios, 0, total + 1);
+        inicios = novosInicios;
+        IntBuffer novosSlots = IntBuffer.allocate(slots.capacity());
+        novosSlots.put(0, slots, 0, slots.capacity());
+        slots = novosSlots;
+        mapeada = false;
+    }
+
+    private ByteBuffer crescer(ByteBuffer atual, int capacidade) {
+        ByteBuffer novo = ByteBuffer.allocate(capacidade);
+        novo.put(0, atual, 0, tamanhoArena);
+        return novo;
+    }
+}
@@ -0,0 +1,172 @@
+package grafo;
+
+/**
+ * // Classe: VersaoGrafo
+ * // Descrição: Uma "foto" imutável do grafo, publicada pelo GrafoVersionado. Depois de
+ * //            publicada, nada nela muda: uma busca que pegou esta versão pode lê-la
+ * //            do começo ao fim sem travas, mesmo que outras versões sejam publicadas
+ * //            no meio do caminho.
+ * //
+ * //            Os dados ficam em blocos de TAMANHO_BLOCO nós. Uma versão nova copia só
+ * //            o vetor de blocos e os blocos que mudaram (e, dentro deles, só as listas
+ * //            de adjacência alteradas); o resto é compartilhado com a versão anterior.
+ * //            Uma versão não aponta para a anterior, então versões antigas viram lixo
+ * //            (e são recolhidas pelo coletor) assim que a última busca que as usava termina.
+ * //
+ * //            As adjacências são vetores primitivos ordenados pelo id do destino:
+ * //            destinos[i], pesos[i] e ids[i] descrevem a i-ésima aresta que sai do nó.
+ */
+public final class VersaoGrafo {
+
+    static final int BITS_BLOCO = 10;
+    static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+    static final int MASCARA_BLOCO = TAMANHO_BLOCO - 1;
+
+    /**
+     * // Record: Adjacencia
+     * // Descrição: As arestas que saem de um nó, em vetores paralelos (imutáveis depois
+     * //            de publicados).
+     */
+    record Adjacencia(int[] destinos, int[] pesos, int[] ids) {
+        static final Adjacencia VAZIA = new Adjacencia(new int[0], new int[0], new int[0]);
+
+        int tamanho() {
+            return destinos.length;
+        }
+    }
+
+    private final long numero;
+    private final TabelaSimbolos tabela;
+    private final TabelaSimbolos.Rotulos rotulos; // Os labels como estavam ao publicar esta versão
+    private final boolean orientado;
+    private final int totalNos;
+    private final int totalArestas;
+    private final int proximoIdAresta;
+    private final Adjacencia[][] adjacencias;
+    private final int[][] heuristicas;
+
+    VersaoGrafo(long numero, TabelaSimbolos tabela, boolean orientado, int totalNos, int totalArestas,
+                int proximoIdAresta, Adjacencia[][] adjacencias, int[][] heuristicas) {
+        this.numero = numero;
+        this.tabela = tabela;
+        this.rotulos = tabela.rotulos();
+        this.orientado = orientado;
+        this.totalNos = totalNos;
+        this.totalArestas = totalArestas;
+        this.proximoIdAresta = proximoIdAresta;
+        this.adjacencias = adjacencias;
+        this.heuristicas = heuristicas;
+    }
+
+    // Número da versão (0 para a primeira, crescendo a cada publicação).
+    public long getNumero() {
+        return numero;
+    }
+
+    public boolean isOrientado() {
+        return orientado;
+    }
+
+    public int getTotalNos() {
+        return totalNos;
+    }
+
+    // Quantidade de arestas que existem nesta versão.
+    public int getQuantidadeArestas() {
+        return totalArestas;
+    }
+
+    // Maior id de aresta já usado + 1 (tamanho certo para vetores indexados pelo id).
+    public int getTotalIdsAresta() {
+        return proximoIdAresta;
+    }
+
+    /**
+     * // Função: buscarId
+     * // Descrição: Procura o id do nó pelo label na foto dos labels desta versão, sem
+     * //            travas: labels criados depois da publicação não aparecem aqui.
+     * // Entrada: label (String) - O nome do nó.
+     * // Saída: O id, ou -1 se o nó não existir nesta versão.
+     */
+    public int buscarId(String label) {
+        int id = rotulos.buscar(label);
+        return id < totalNos ? id : -1;
+    }
+
+    public String label(int id) {
+        return rotulos.label(id);
+    }
+
+    /**
+     * // Função: no
+     * // Descrição: Cria um No "solto" (só id, label e heurística) para montar caminhos
+     * //            de resultado, como o ResultadoBusca espera.
+     * // Entrada: id (int) - O id do nó.
+     * // Saída: Um No novo; suas arestas NÃO são as desta versão.
+     */
+    public No no(int id) {
+        No no = new No(id, tabela);
+        no.setHeuristica(heuristica(id));
+        return no;
+    }
+
+    public int heuristica(int id) {
+        return heuristicas[id >>> BITS_BLOCO][id & MASCARA_BLOCO];
+    }
+
+    // Quantas arestas saem do nó.
+    public int grau(int id) {
+        return adjacencia(id).tamanho();
+    }
+
+    // Destino da i-ésima aresta que sai do nó (em ordem crescente de destino).
+    public int destino(int id, int i) {
+        return adjacencia(id).destinos()[i];
+    }
+
+    public int peso(int id, int i) {
+        return adjacencia(id).pesos()[i];
+    }
+
+    public int idAresta(int id, int i) {
+        return adjacencia(id).ids()[i];
+    }
+
+    /**
+     * // Função: pesoAresta
+     * // Descrição: Peso da aresta origem -> destino (busca binária na adjacência).
+     * // Entrada: origem (int), destino (int) - Os ids dos nós.
+     * // Saída: O peso, ou -1 se a aresta não existir.
+     */
+    public int pesoAresta(int origem, int destino) {
+        Adjacencia adjacencia = adjacencia(origem);
+        int posicao = posicao(adjacencia, destino);
+        return posicao >= 0 ? adjacencia.pesos()[posicao] : -1;
+    }
+
+    Adjacencia adjacencia(int id) {
+        Adjacencia adjacencia = adjacencias[id >>> BITS_BLOCO][id & MASCARA_BLOCO];
+        return adjacencia == null ? Adjacencia.VAZIA : adjacencia;
+    }
+
+    TabelaSimbolos getTabela() {
+        return tabela;
+    }
+
+    int getProximoIdAresta() {
+        return proximoIdAresta;
+    }
+
+    Adjacencia[][] getAdjacencias() {
+        return adjacencias;
+    }
+
+    int[][] getHeuristicas() {
+        return heuristicas;
+    }
+
+    // Posição do destino na adjacência ordenada, ou -(ponto de inserção) - 1.
+    static int posicao(Adjacencia adjacencia, int destino) {
+        return java.util.Arrays.binarySearch(adjacencia.destinos(), destino);
+    }
+}
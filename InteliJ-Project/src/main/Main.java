@@ -1,12 +1,25 @@
 package main;
 
 import algoritmos.*;
-import utils.LeitorArquivo;
+import grafo.No;
+import metricas.Metricas;
+import rastreio.GravadorRastreio;
+import rastreio.ReprodutorRastreio;
 import utils.DadosArquivo;
+import utils.RecarregadorGrafo;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 public class Main {
     // Scanner global para não precisar criar um novo a cada leitura
@@ -14,8 +27,11 @@ public class Main {
 
     // Variáveis de controle para saber se o grafo já foi carregado
     private static boolean grafoCarregado = false;
+    // Só é trocado pela thread do menu, entre um comando e outro (nunca durante uma busca)
     private static DadosArquivo dadosGrafo = null;
-
+    private static RecarregadorGrafo recarregador = null;
+    // Pré-processamento de arc-flags do grafo atual (refeito quando o grafo muda)
+    private static ArcFlags arcFlags = null;
     /**
      * // Função: main
      * // Descrição: Ponto de entrada do programa. Fica em loop exibindo o menu
@@ -29,6 +45,9 @@ public class Main {
      */
     public static void main(String[] args) {
         while (true) {
+            if (grafoCarregado) {
+                aplicarRecargaPendente();
+            }
             exibirMenu();
             System.out.print("Escolha uma opção: ");
 
@@ -59,6 +78,42 @@ public class Main {
                         executarBonus();
                         break;
                     case 5:
+                        executarPortfolio();
+                        break;
+                    case 6:
+                        executarAEstrelaAnytime();
+                        break;
+                    case 7:
+                        exibirMetricas();
+                        break;
+                    case 8:
+                        gravarRastreio();
+                        break;
+                    case 9:
+                        recarregarGrafo();
+                        break;
+                    case 10:
+                        executarDijkstraDinamico();
+                        break;
+                    case 11:
+                        executarKCaminhos();
+                        break;
+                    case 12:
+                        executarBuscaMultipla();
+                        break;
+                    case 13:
+                        executarIsocrona();
+                        break;
+                    case 14:
+                        executarArcFlags();
+                        break;
+                    case 15:
+                        executarArvoreCaminhos();
+                        break;
+                    case 16:
+                        executarBuscaProfundidade();
+                        break;
+                    case 17:
                         System.out.println("\nEncerrando o programa. Até a próxima!");
                         scanner.close();
                         return; // Sai do programa
@@ -103,7 +158,19 @@ public class Main {
             System.out.println("2. Executar DFS (Pior Solução)");
             System.out.println("3. Executar A* (Melhor Solução)");
             System.out.println("4. Executar Dijkstra com Fita Limitada (Bônus)");
-            System.out.println("5. Sair");
+            System.out.println("5. Executar Portfólio (DFS, A* e Dijkstra em paralelo)");
+            System.out.println("6. Executar A* Anytime (ARA*) com Prazo");
+            System.out.println("7. Métricas de Desempenho (ativar/exibir)");
+            System.out.println("8. Gravar Rastreio da Busca (A* ou Dijkstra)");
+            System.out.println("9. Recarregar Grafo (diferenças, arquivo delta ou observação)");
+            System.out.println("10. Dijkstra Dinâmico (atualizações de arestas a partir do ponto inicial)");
+            System.out.println("11. K Caminhos Mais Curtos (Yen, desvios em paralelo)");
+            System.out.println("12. Busca com Várias Origens e Destinos (uma só passada)");
+            System.out.println("13. Isócrona (todos os nós alcançáveis com o fio)");
+            System.out.println("14. Dijkstra com Arc-Flags (pré-processamento por regiões)");
+            System.out.println("15. Árvore de Caminhos em Cache (consultas a partir do ponto inicial)");
+            System.out.println("16. DFS com Limite de Profundidade / Aprofundamento Iterativo");
+            System.out.println("17. Sair");
         } else{
             System.out.println("2. Sair");
         }
@@ -130,13 +197,19 @@ public class Main {
         String caminhoCompleto = "src/arquivos/" + nomeArquivo;
 
         try {
-            dadosGrafo = LeitorArquivo.carregarGrafo(caminhoCompleto);
+            RecarregadorGrafo novo = RecarregadorGrafo.carregar(caminhoCompleto);
+            if (recarregador != null) {
+                recarregador.pararObservacao();
+            }
+            recarregador = novo;
+            dadosGrafo = recarregador.getDados();
+            arcFlags = null;
             grafoCarregado = true;
             System.out.println("\nArquivo lido e grafo montado com sucesso!");
 
             System.out.println("--- Informações do Grafo Carregado ---");
-            System.out.println("Ponto Inicial: " + dadosGrafo.noInicialLabel());
-            System.out.println("Ponto Final: " + dadosGrafo.noFinalLabel());
+            System.out.println("Ponto Inicial: " + String.join(", ", dadosGrafo.noIniciaisLabels()));
+            System.out.println("Ponto Final: " + String.join(", ", dadosGrafo.noFinaisLabels()));
             String tipoGrafo = dadosGrafo.grafo().isOrientado() ? "Grafo Orientado" : "Grafo Não Orientado";
             System.out.println("Tipo de Grafo: " + tipoGrafo);
             System.out.println("----------------------------------------");
@@ -144,6 +217,7 @@ public class Main {
         } catch (IOException e) {
             grafoCarregado = false;
             dadosGrafo = null;
+            recarregador = null;
             System.err.println("\nERRO: Não foi possível ler o arquivo. Verifique o nome e o formato.");
             System.err.println("Detalhes: " + e.getMessage());
         }
@@ -216,4 +290,649 @@ public class Main {
             scanner.nextLine(); // Limpa o buffer em caso de erro
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * // Função: executarPortfolio
+     * // Descrição: Corre DFS, A* e Dijkstra ao mesmo tempo sobre o grafo carregado e
+     * //            mostra a primeira resposta que atende à qualidade escolhida pelo
+     * //            usuário (qualquer caminho ou apenas o caminho ótimo).
+     * // Entrada: Nenhuma (pede a qualidade desejada via console).
+     * // Saída: Nenhuma (imprime o algoritmo vencedor e o caminho).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: Todas as buscas do portfólio terminam ou são canceladas.
+     */
+    private static void executarPortfolio() {
+        System.out.println("\n--- Executando Portfólio de Algoritmos ---");
+        try {
+            System.out.print("Qualidade desejada (1 - Qualquer caminho, 2 - Caminho ótimo): ");
+            int opcao = scanner.nextInt();
+            scanner.nextLine(); // Limpa o buffer
+            Portfolio.Qualidade qualidade = (opcao == 2) ? Portfolio.Qualidade.OTIMA : Portfolio.Qualidade.QUALQUER;
+
+            long inicio = System.nanoTime();
+            ResultadoBusca resultado = Portfolio.executar(
+                    dadosGrafo.grafo(),
+                    dadosGrafo.noInicialLabel(),
+                    dadosGrafo.noFinalLabel(),
+                    EnumSet.allOf(Portfolio.Algoritmo.class),
+                    qualidade
+            );
+            long tempoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            System.out.println("Algoritmo vencedor: " + resultado.algoritmo());
+            if (!resultado.encontrado()) {
+                System.out.println("Caminho não encontrado.");
+            } else {
+                System.out.println("Distância: " + resultado.distancia());
+                System.out.println("Caminho: " + resultado.caminhoFormatado());
+            }
+            System.out.println("Medida de desempenho (Nós expandidos): " + resultado.nosExpandidos());
+            System.out.println("Tempo total: " + tempoMs + " ms");
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro.");
+            scanner.nextLine(); // Limpa o buffer em caso de erro
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Execução do portfólio interrompida.");
+        } catch (ExecutionException e) {
+            System.err.println("\nERRO: Todas as buscas do portfólio falharam.");
+            System.err.println("Detalhes: " + e.getCause());
+        }
+    }
+
+    /**
+     * // Função: executarAEstrelaAnytime
+     * // Descrição: Pergunta o prazo ao usuário e roda o ARA*, mostrando cada solução
+     * //            intermediária (custo, limite de subotimalidade e quando foi achada)
+     * //            e, no final, o melhor caminho obtido dentro do prazo.
+     * // Entrada: Nenhuma (pede o prazo em milissegundos via console).
+     * // Saída: Nenhuma (imprime as soluções no console).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O ARA* é executado até o prazo ou até provar o ótimo.
+     */
+    private static void executarAEstrelaAnytime() {
+        System.out.println("\n--- Executando A* Anytime (ARA*) ---");
+        try {
+            System.out.print("Qual o prazo em milissegundos? ");
+            long prazoMs = scanner.nextLong();
+            scanner.nextLine(); // Limpa o buffer
+
+            AEstrelaAnytime.ResultadoAnytime resultado = AEstrelaAnytime.executar(
+                    dadosGrafo.grafo(),
+                    dadosGrafo.noInicialLabel(),
+                    dadosGrafo.noFinalLabel(),
+                    prazoMs * 1_000_000
+            );
+
+            int numero = 1;
+            for (AEstrelaAnytime.Solucao solucao : resultado.solucoes()) {
+                System.out.printf("Solução %d: custo %d, limite <= %.2f x ótimo, encontrada em %.3f ms%n",
+                        numero++, solucao.custo(), solucao.limiteSubotimo(), solucao.tempoNanos() / 1_000_000.0);
+            }
+
+            AEstrelaAnytime.Solucao melhor = resultado.melhor();
+            if (melhor == null) {
+                System.out.println(resultado.otimo()
+                        ? "Caminho não encontrado."
+                        : "Nenhuma solução encontrada dentro do prazo.");
+            } else {
+                System.out.println("Distância: " + melhor.custo());
+                System.out.println("Caminho: " + melhor.caminho().stream()
+                        .map(No::getLabel)
+                        .collect(Collectors.joining(" - ")));
+                System.out.println(resultado.otimo() ? "Solução ótima comprovada." : "Prazo esgotado antes de provar o ótimo.");
+            }
+            System.out.println("Medida de desempenho (Nós expandidos): " + resultado.nosExpandidos());
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro para o prazo.");
+            scanner.nextLine(); // Limpa o buffer em caso de erro
+        }
+    }
+
+    /**
+     * // Função: exibirMetricas
+     * // Descrição: Mostra os números acumulados pela camada de métricas (por algoritmo
+     * //            e da leitura de arquivos) e deixa o usuário ligar ou desligar a coleta.
+     * //            As buscas contadas são as dos modos automáticos (ex: portfólio).
+     * // Entrada: Nenhuma (pergunta se deve alternar a coleta via console).
+     * // Saída: Nenhuma (imprime as métricas no console).
+     * // Pré-Condição: Nenhuma.
+     * // Pós-Condição: A coleta de métricas pode ter sido ativada ou desativada.
+     */
+    private static void exibirMetricas() {
+        System.out.println("\n--- Métricas de Desempenho ---");
+        System.out.println("Coleta: " + (Metricas.isAtivas() ? "ativada" : "desativada"));
+
+        Metricas.Retrato retrato = Metricas.retrato();
+        for (Metricas.RetratoAlgoritmo a : retrato.algoritmos()) {
+            System.out.printf("%s: %d buscas | expandidos %d | gerados %d | obsoletos %d | relaxamentos %d | pico da fronteira %d%n",
+                    a.algoritmo(), a.buscas(), a.nosExpandidos(), a.nosGerados(),
+                    a.entradasObsoletas(), a.relaxamentos(), a.picoFronteira());
+            System.out.printf("    latência: média %.3f ms | p50 %.3f ms | p99 %.3f ms | máx %.3f ms%n",
+                    a.latenciaMedia() / 1e6, a.latenciaP50() / 1e6, a.latenciaP99() / 1e6, a.latenciaMaxima() / 1e6);
+        }
+        System.out.printf("Leituras de arquivo: %d (%d linhas) | p50 %.3f ms | máx %.3f ms%n",
+                retrato.cargas(), retrato.linhasLidas(), retrato.tempoCargaP50() / 1e6, retrato.tempoCargaMaximo() / 1e6);
+
+        System.out.print("Deseja " + (Metricas.isAtivas() ? "desativar" : "ativar") + " a coleta? (s/n): ");
+        if (scanner.nextLine().trim().equalsIgnoreCase("s")) {
+            Metricas.setAtivas(!Metricas.isAtivas());
+            System.out.println("Coleta " + (Metricas.isAtivas() ? "ativada." : "desativada."));
+        }
+    }
+
+    /**
+     * // Função: gravarRastreio
+     * // Descrição: Roda o A* ou o Dijkstra sem pausas, gravando o passo a passo em um
+     * //            arquivo binário compacto (em vez de imprimir a fronteira a cada
+     * //            iteração). Depois, se o usuário quiser, reproduz o rastreio na tela
+     * //            com o ReprodutorRastreio, no mesmo formato do modo interativo.
+     * // Entrada: Nenhuma (pede o algoritmo, o limite de fio e o nome do arquivo via console).
+     * // Saída: Nenhuma (imprime o resultado e, opcionalmente, a reprodução).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O arquivo de rastreio é criado em 'src/arquivos/'.
+     */
+    private static void gravarRastreio() {
+        System.out.println("\n--- Gravar Rastreio da Busca ---");
+        try {
+            System.out.print("Algoritmo (1 - A*, 2 - Dijkstra com fio): ");
+            int algoritmo = scanner.nextInt();
+            int limiteFio = Integer.MAX_VALUE;
+            if (algoritmo == 2) {
+                System.out.print("Qual o comprimento do fio? ");
+                limiteFio = scanner.nextInt();
+            }
+            scanner.nextLine(); // Limpa o buffer
+
+            System.out.print("Nome do arquivo de rastreio (Enter para 'rastreio.bin'): ");
+            String nomeArquivo = scanner.nextLine().trim();
+            Path caminho = Path.of("src/arquivos/" + (nomeArquivo.isEmpty() ? "rastreio.bin" : nomeArquivo));
+
+            ResultadoBusca resultado;
+            long eventos;
+            try (GravadorRastreio gravador = GravadorRastreio.emArquivo(caminho, dadosGrafo.grafo())) {
+                resultado = (algoritmo == 2)
+                        ? Dijkstra.buscar(dadosGrafo.grafo(), dadosGrafo.noInicialLabel(), dadosGrafo.noFinalLabel(),
+                                limiteFio, new AtomicBoolean(false), gravador)
+                        : AEstrela.buscar(dadosGrafo.grafo(), dadosGrafo.noInicialLabel(), dadosGrafo.noFinalLabel(),
+                                new AtomicBoolean(false), gravador);
+                eventos = gravador.getTotalGravados();
+            }
+
+            System.out.println(resultado.encontrado()
+                    ? "Distância: " + resultado.distancia() + " | Caminho: " + resultado.caminhoFormatado()
+                    : "Caminho não encontrado.");
+            System.out.println(eventos + " eventos gravados em " + caminho);
+
+            System.out.print("Deseja reproduzir o rastreio agora? (s/n): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("s")) {
+                ReprodutorRastreio.reproduzir(caminho, System.out);
+            }
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro.");
+            scanner.nextLine(); // Limpa o buffer em caso de erro
+        } catch (IOException e) {
+            System.err.println("\nERRO: Não foi possível gravar ou ler o rastreio.");
+            System.err.println("Detalhes: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            // O gravador lança esta exceção quando a escrita falha no meio da busca.
+            System.err.println("\nERRO: Não foi possível gravar o rastreio durante a busca.");
+            System.err.println("Detalhes: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * // Função: recarregarGrafo
+     * // Descrição: Atualiza o grafo carregado sem montá-lo do zero. O usuário escolhe
+     * //            entre reler o arquivo do mapa (só as diferenças são aplicadas),
+     * //            aplicar um arquivo delta com as mudanças, ou ligar/desligar a
+     * //            observação do arquivo (quando ele for salvo, a recarga é feita antes
+     * //            do próximo comando do menu).
+     * // Entrada: Nenhuma (pede a opção e, se for o caso, o nome do delta via console).
+     * // Saída: Nenhuma (imprime o resumo das mudanças).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O grafo carregado reflete o arquivo (ou o delta) lido.
+     */
+    private static void recarregarGrafo() {
+        System.out.println("\n--- Recarregar Grafo ---");
+        try {
+            System.out.print("1 - Reler o arquivo do mapa, 2 - Aplicar arquivo delta, 3 - Ligar/desligar observação: ");
+            int opcao = scanner.nextInt();
+            scanner.nextLine(); // Limpa o buffer
+
+            switch (opcao) {
+                case 1 -> imprimirRecarga(recarregador.recarregar());
+                case 2 -> {
+                    System.out.print("Nome do arquivo delta (ex: delta.txt): ");
+                    String nomeDelta = scanner.nextLine().trim();
+                    imprimirRecarga(recarregador.aplicarDelta("src/arquivos/" + nomeDelta));
+                }
+                case 3 -> {
+                    System.out.print("Deseja observar o arquivo? (s/n): ");
+                    if (scanner.nextLine().trim().equalsIgnoreCase("s")) {
+                        recarregador.iniciarObservacao();
+                        System.out.println("Observando " + recarregador.getCaminhoArquivo()
+                                + " (as mudanças são aplicadas antes do próximo comando).");
+                    } else {
+                        recarregador.pararObservacao();
+                        System.out.println("Observação desligada.");
+                    }
+                }
+                default -> System.out.println("Opção inválida.");
+            }
+            dadosGrafo = recarregador.getDados();
+            arcFlags = null;
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro.");
+            scanner.nextLine(); // Limpa o buffer em caso de erro
+        } catch (IOException e) {
+            System.err.println("\nERRO: Não foi possível recarregar o grafo.");
+            System.err.println("Detalhes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * // Função: aplicarRecargaPendente
+     * // Descrição: Se a observação viu o arquivo do mapa ser salvo, faz a recarga agora,
+     * //            na thread do menu e antes de exibi-lo, quando nenhuma busca está rodando.
+     * // Entrada: Nenhuma.
+     * // Saída: Nenhuma (imprime o resumo, se houve recarga).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     */
+    private static void aplicarRecargaPendente() {
+        try {
+            RecarregadorGrafo.ResultadoRecarga resultado = recarregador.recarregarSePreciso();
+            if (resultado != null) {
+                System.out.print("\nO arquivo do mapa foi alterado.");
+                imprimirRecarga(resultado);
+            }
+        } catch (IOException e) {
+            System.err.println("\nERRO: Não foi possível recarregar o grafo observado.");
+            System.err.println("Detalhes: " + e.getMessage());
+        }
+    }
+
+    private static void imprimirRecarga(RecarregadorGrafo.ResultadoRecarga resultado) {
+        dadosGrafo = recarregador.getDados();
+        arcFlags = null;
+        if (resultado.completa()) {
+            System.out.println("\nO tipo do grafo mudou: grafo montado do zero.");
+        } else {
+            System.out.printf("%nArestas: %d adicionadas, %d removidas, %d alteradas | Heurísticas: %d%n",
+                    resultado.adicionadas(), resultado.removidas(), resultado.alteradas(), resultado.heuristicas());
+        }
+        System.out.printf("Recarga feita em %.3f ms.%n", resultado.tempoNanos() / 1e6);
+    }
+
+    /**
+     * // Função: executarDijkstraDinamico
+     * // Descrição: Monta a árvore de caminhos mínimos a partir do ponto inicial e fica
+     * //            recebendo comandos de atualização de arestas e de consulta. Cada
+     * //            atualização conserta só a parte afetada da árvore, e as consultas
+     * //            respondem na hora, sem rodar uma busca nova.
+     * // Entrada: Nenhuma (lê os comandos via console).
+     * // Saída: Nenhuma (imprime as respostas no console).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: As atualizações feitas ficam no grafo carregado.
+     */
+    private static void executarDijkstraDinamico() {
+        System.out.println("\n--- Dijkstra Dinâmico ---");
+        DijkstraDinamico dinamico = new DijkstraDinamico(dadosGrafo.grafo(), dadosGrafo.noInicialLabel());
+        arcFlags = null; // As atualizações abaixo mudam o grafo
+        System.out.println("Árvore montada a partir de " + dadosGrafo.noInicialLabel() + ".");
+        System.out.println("Comandos: adicionar a b p | remover a b | alterar a b p | dist x | sair");
+
+        while (true) {
+            System.out.print("> ");
+            String[] partes = scanner.nextLine().trim().toLowerCase().split("\\s+");
+            try {
+                switch (partes[0]) {
+                    case "sair" -> {
+                        return;
+                    }
+                    case "adicionar" -> dinamico.adicionarAresta(partes[1], partes[2], Integer.parseInt(partes[3]));
+                    case "remover" -> {
+                        if (!dinamico.removerAresta(partes[1], partes[2])) {
+                            System.out.println("Aresta não existe.");
+                            continue;
+                        }
+                    }
+                    case "alterar" -> dinamico.alterarPeso(partes[1], partes[2], Integer.parseInt(partes[3]));
+                    case "dist" -> {
+                        ResultadoBusca resultado = dinamico.caminho(partes[1]);
+                        System.out.println(resultado.encontrado()
+                                ? "Distância: " + resultado.distancia() + " | Caminho: " + resultado.caminhoFormatado()
+                                : "Nó inalcançável a partir de " + dadosGrafo.noInicialLabel() + ".");
+                        continue;
+                    }
+                    default -> {
+                        System.out.println("Comando desconhecido.");
+                        continue;
+                    }
+                }
+                System.out.println("Árvore atualizada (" + dinamico.getNosReassentados() + " nós recalculados).");
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                System.out.println("Erro: comando incompleto ou peso inválido.");
+            } catch (IllegalArgumentException e) {
+                System.out.println("Erro: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * // Função: executarKCaminhos
+     * // Descrição: Pede o valor de k e mostra os k caminhos mais curtos sem ciclos entre
+     * //            o ponto inicial e o final, do melhor para o pior, no mesmo formato de
+     * //            saída dos outros algoritmos (distância e caminho).
+     * // Entrada: Nenhuma (pede k via console).
+     * // Saída: Nenhuma (imprime os caminhos no console).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O grafo permanece inalterado.
+     */
+    private static void executarKCaminhos() {
+        System.out.println("\n--- K Caminhos Mais Curtos (Yen) ---");
+        try {
+            System.out.print("Quantos caminhos (k)? ");
+            int k = scanner.nextInt();
+            scanner.nextLine(); // Limpa o buffer
+            if (k < 1) {
+                System.out.println("Erro: k deve ser pelo menos 1.");
+                return;
+            }
+
+            long inicio = System.nanoTime();
+            List<ResultadoBusca> caminhos = KCaminhos.executar(
+                    dadosGrafo.grafo(),
+                    dadosGrafo.noInicialLabel(),
+                    dadosGrafo.noFinalLabel(),
+                    k
+            );
+            long tempo = System.nanoTime() - inicio;
+
+            if (caminhos.isEmpty()) {
+                System.out.println("Caminho não encontrado.");
+                return;
+            }
+            for (int i = 0; i < caminhos.size(); i++) {
+                ResultadoBusca caminho = caminhos.get(i);
+                System.out.println("\nCaminho " + (i + 1) + ":");
+                System.out.println("Distância: " + caminho.distancia());
+                System.out.println("Caminho: " + caminho.caminhoFormatado());
+            }
+            if (caminhos.size() < k) {
+                System.out.println("\nSó existem " + caminhos.size() + " caminhos sem ciclos.");
+            }
+            System.out.printf("Tempo total: %.3f ms%n", tempo / 1e6);
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro.");
+            scanner.nextLine(); // Limpa o buffer em caso de erro
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Busca interrompida.");
+        }
+    }
+
+    /**
+     * // Função: executarBuscaMultipla
+     * // Descrição: Usa todos os pontos iniciais e finais do arquivo em uma única busca.
+     * //            O usuário escolhe entre achar o par mais próximo (com A* ou Dijkstra)
+     * //            ou, para cada ponto final, a origem mais próxima.
+     * // Entrada: Nenhuma (pede o modo via console).
+     * // Saída: Nenhuma (imprime o par vencedor, a distância e o caminho).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O grafo permanece inalterado.
+     */
+    private static void executarBuscaMultipla() {
+        System.out.println("\n--- Busca com Várias Origens e Destinos ---");
+        System.out.println("Origens: " + String.join(", ", dadosGrafo.noIniciaisLabels()));
+        System.out.println("Destinos: " + String.join(", ", dadosGrafo.noFinaisLabels()));
+        try {
+            System.out.print("1 - Par mais próximo (A*), 2 - Par mais próximo (Dijkstra), 3 - Origem mais próxima de cada destino: ");
+            int modo = scanner.nextInt();
+            scanner.nextLine(); // Limpa o buffer
+
+            if (modo == 1 || modo == 2) {
+                BuscaMultipla.ResultadoMultiplo vencedor = BuscaMultipla.primeiro(
+                        dadosGrafo.grafo(),
+                        dadosGrafo.noIniciaisLabels(),
+                        dadosGrafo.noFinaisLabels(),
+                        modo == 1,
+                        new AtomicBoolean(false)
+                );
+                imprimirResultadoMultiplo(vencedor);
+            } else if (modo == 3) {
+                List<BuscaMultipla.ResultadoMultiplo> resultados = BuscaMultipla.cada(
+                        dadosGrafo.grafo(),
+                        dadosGrafo.noIniciaisLabels(),
+                        dadosGrafo.noFinaisLabels(),
+                        new AtomicBoolean(false)
+                );
+                for (BuscaMultipla.ResultadoMultiplo resultado : resultados) {
+                    System.out.println("\nDestino " + resultado.destino() + ":");
+                    imprimirResultadoMultiplo(resultado);
+                }
+            } else {
+                System.out.println("Opção inválida.");
+            }
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro.");
+            scanner.nextLine(); // Limpa o buffer em caso de erro
+        }
+    }
+
+    private static void imprimirResultadoMultiplo(BuscaMultipla.ResultadoMultiplo resultado) {
+        if (!resultado.resultado().encontrado()) {
+            System.out.println("Caminho não encontrado.");
+            return;
+        }
+        System.out.println("Par vencedor: " + resultado.origem() + " -> " + resultado.destino());
+        System.out.println("Distância: " + resultado.resultado().distancia());
+        System.out.println("Caminho: " + resultado.resultado().caminhoFormatado());
+        System.out.println("Medida de desempenho (Nós expandidos): " + resultado.resultado().nosExpandidos());
+    }
+
+    /**
+     * // Função: executarIsocrona
+     * // Descrição: Pede um ou mais comprimentos de fio e lista todos os nós alcançáveis
+     * //            a partir do ponto inicial, com a distância e o menor fio que basta.
+     * //            Os nós vão direto para a tela ou para um arquivo CSV em
+     * //            'src/arquivos/', à medida que são encontrados.
+     * // Entrada: Nenhuma (pede os orçamentos e o destino da saída via console).
+     * // Saída: Nenhuma (imprime os nós ou grava o arquivo, e mostra o total por faixa).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O grafo permanece inalterado.
+     */
+    private static void executarIsocrona() {
+        System.out.println("\n--- Isócrona a partir de " + dadosGrafo.noInicialLabel() + " ---");
+        System.out.print("Comprimentos do fio, separados por espaço (ex: 100 200 500): ");
+        int[] orcamentos;
+        try {
+            orcamentos = Arrays.stream(scanner.nextLine().trim().split("\\s+"))
+                    .mapToInt(Integer::parseInt)
+                    .toArray();
+        } catch (NumberFormatException e) {
+            System.out.println("Erro: Por favor, digite números inteiros.");
+            return;
+        }
+        System.out.print("Arquivo de saída (Enter para mostrar na tela): ");
+        String nomeArquivo = scanner.nextLine().trim();
+
+        try {
+            Isocrona.ResumoIsocrona resumo;
+            if (nomeArquivo.isEmpty()) {
+                resumo = Isocrona.executar(dadosGrafo.grafo(), dadosGrafo.noInicialLabel(), orcamentos,
+                        (no, distancia, faixa) -> System.out.println(no.getLabel() + ": " + distancia),
+                        new AtomicBoolean(false));
+            } else {
+                Path caminho = Path.of("src/arquivos/" + nomeArquivo);
+                try (Isocrona.EscritorIsocrona escritor = Isocrona.paraArquivo(caminho, orcamentos)) {
+                    resumo = Isocrona.executar(dadosGrafo.grafo(), dadosGrafo.noInicialLabel(), orcamentos,
+                            escritor, new AtomicBoolean(false));
+                    System.out.println(escritor.getLinhas() + " nós gravados em " + caminho);
+                }
+            }
+
+            for (int i = 0; i < resumo.orcamentos().length; i++) {
+                System.out.println("Fio " + resumo.orcamentos()[i] + ": " + resumo.nosPorFaixa()[i] + " nós alcançáveis");
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erro: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("\nERRO: Não foi possível gravar o arquivo da isócrona.");
+            System.err.println("Detalhes: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            // O escritor lança esta exceção quando a escrita falha no meio da busca.
+            System.err.println("\nERRO: Não foi possível gravar o arquivo da isócrona durante a busca.");
+            System.err.println("Detalhes: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * // Função: executarArcFlags
+     * // Descrição: Na primeira vez (ou depois que o grafo muda), divide o grafo em
+     * //            regiões e calcula as arc-flags em paralelo. Depois roda o Dijkstra
+     * //            que só usa as arestas marcadas para a região do ponto final e compara
+     * //            com o Dijkstra comum.
+     * // Entrada: Nenhuma (pede o número de regiões via console, se preciso).
+     * // Saída: Nenhuma (imprime o resultado e os números do pré-processamento).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O pré-processamento fica guardado para as próximas consultas.
+     */
+    private static void executarArcFlags() {
+        System.out.println("\n--- Dijkstra com Arc-Flags ---");
+        try {
+            if (arcFlags == null || arcFlags.getGrafo() != dadosGrafo.grafo()) {
+                System.out.print("Número de regiões (1 a " + ArcFlags.MAX_REGIOES + "): ");
+                int regioes = scanner.nextInt();
+                scanner.nextLine(); // Limpa o buffer
+                arcFlags = ArcFlags.preprocessar(dadosGrafo.grafo(), regioes, ForkJoinPool.commonPool());
+                System.out.printf("Pré-processamento: %d regiões, %d nós de fronteira, %.1f%% das bandeiras ligadas, %.3f ms%n",
+                        arcFlags.getRegioes(), arcFlags.getNosFronteira(), arcFlags.getFracaoLigada() * 100,
+                        arcFlags.getTempoPreprocessamentoNanos() / 1e6);
+            }
+
+            ResultadoBusca resultado = arcFlags.buscar(dadosGrafo.noInicialLabel(), dadosGrafo.noFinalLabel(), new AtomicBoolean(false));
+            ResultadoBusca comum = Dijkstra.buscar(dadosGrafo.grafo(), dadosGrafo.noInicialLabel(), dadosGrafo.noFinalLabel(),
+                    Integer.MAX_VALUE, new AtomicBoolean(false));
+
+            if (!resultado.encontrado()) {
+                System.out.println("Caminho não encontrado.");
+                return;
+            }
+            System.out.println("Distância: " + resultado.distancia());
+            System.out.println("Caminho: " + resultado.caminhoFormatado());
+            System.out.println("Medida de desempenho (Nós expandidos): " + resultado.nosExpandidos()
+                    + " (Dijkstra comum: " + comum.nosExpandidos() + ")");
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro.");
+            scanner.nextLine(); // Limpa o buffer em caso de erro
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erro: " + e.getMessage());
+        }
+    }
+
+    /**
+     * // Função: executarArvoreCaminhos
+     * // Descrição: Abre (ou calcula e grava) a árvore de caminhos mínimos a partir do
+     * //            ponto inicial, guardada ao lado do arquivo do mapa, e responde
+     * //            consultas de distância e caminho para vários destinos sem rodar
+     * //            uma busca por destino.
+     * // Entrada: Nenhuma (pede os destinos e o limite de fio via console).
+     * // Saída: Nenhuma (imprime as respostas no console).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O arquivo de cache fica gravado para as próximas execuções. Se o
+     * //               grafo em memória mudou (delta, Dijkstra dinâmico ou recarga), o
+     * //               cache antigo é recusado e a árvore é calculada de novo.
+     */
+    private static void executarArvoreCaminhos() {
+        System.out.println("\n--- Árvore de Caminhos a partir de " + dadosGrafo.noInicialLabel() + " ---");
+        Path arquivoGrafo = Path.of(recarregador.getCaminhoArquivo());
+        Path arquivoCache = arquivoGrafo.resolveSibling(arquivoGrafo.getFileName() + "." + dadosGrafo.noInicialLabel() + ".arvore");
+
+        try {
+            long inicio = System.nanoTime();
+            ArvoreCaminhos arvore = ArvoreCaminhos.abrirOuCalcular(dadosGrafo.grafo(), dadosGrafo.noInicialLabel(),
+                    arquivoCache);
+            System.out.printf("%s em %.3f ms (%s).%n", arvore.isReaproveitada()
+                    ? "Cache reaproveitado" : "Árvore calculada e gravada", (System.nanoTime() - inicio) / 1e6, arquivoCache);
+
+            System.out.print("Destinos separados por espaço (Enter para o ponto final): ");
+            String linha = scanner.nextLine().trim().toLowerCase();
+            List<String> destinos = linha.isEmpty() ? dadosGrafo.noFinaisLabels() : Arrays.asList(linha.split("\\s+"));
+            System.out.print("Limite de fio (Enter para não limitar): ");
+            String limite = scanner.nextLine().trim();
+            int limiteFio = limite.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(limite);
+
+            for (String destino : destinos) {
+                ResultadoBusca resultado = arvore.caminho(destino, limiteFio);
+                if (resultado.encontrado()) {
+                    System.out.println(destino + ": distância " + resultado.distancia() + " | " + resultado.caminhoFormatado());
+                } else {
+                    System.out.println(destino + ": caminho não encontrado" + (limiteFio == Integer.MAX_VALUE ? "." : " dentro do limite de fio."));
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erro: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("\nERRO: Não foi possível ler ou gravar o cache da árvore de caminhos.");
+            System.err.println("Detalhes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * // Função: executarBuscaProfundidade
+     * // Descrição: Roda o motor de DFS com pilha de vetor em um dos três modos:
+     * //            completo, com limite de profundidade ou com aprofundamento iterativo
+     * //            (caminho com menos arestas), e mostra o tempo da busca.
+     * // Entrada: Nenhuma (pede o modo e, se preciso, o limite via console).
+     * // Saída: Nenhuma (imprime o resultado no console).
+     * // Pré-Condição: O grafo precisa estar carregado (grafoCarregado == true).
+     * // Pós-Condição: O grafo permanece inalterado.
+     */
+    private static void executarBuscaProfundidade() {
+        System.out.println("\n--- DFS com Pilha de Vetor ---");
+        try {
+            System.out.print("1 - DFS completa, 2 - Limite de profundidade, 3 - Aprofundamento iterativo: ");
+            int modo = scanner.nextInt();
+            scanner.nextLine(); // Limpa o buffer
+
+            BuscaProfundidade busca = new BuscaProfundidade(dadosGrafo.grafo());
+            String inicio = dadosGrafo.noInicialLabel();
+            String fim = dadosGrafo.noFinalLabel();
+            AtomicBoolean cancelado = new AtomicBoolean(false);
+            long antes = System.nanoTime();
+            ResultadoBusca resultado;
+            switch (modo) {
+                case 1 -> resultado = busca.buscar(inicio, fim, cancelado);
+                case 2 -> {
+                    System.out.print("Profundidade máxima (em arestas): ");
+                    int limite = scanner.nextInt();
+                    scanner.nextLine(); // Limpa o buffer
+                    antes = System.nanoTime();
+                    resultado = busca.buscarLimitada(inicio, fim, limite, cancelado);
+                }
+                case 3 -> resultado = busca.buscarIterativa(inicio, fim, Integer.MAX_VALUE, cancelado);
+                default -> {
+                    System.out.println("Opção inválida.");
+                    return;
+                }
+            }
+            long tempo = System.nanoTime() - antes;
+
+            if (!resultado.encontrado()) {
+                System.out.println("Caminho não encontrado.");
+            } else {
+                System.out.println("Distância: " + resultado.distancia());
+                System.out.println("Caminho: " + resultado.caminhoFormatado() + " (" + (resultado.caminho().size() - 1) + " arestas)");
+            }
+            System.out.printf("Medida de desempenho (Nós expandidos): %d em %.3f ms%n", resultado.nosExpandidos(), tempo / 1e6);
+        } catch (InputMismatchException e) {
+            System.out.println("Erro: Por favor, digite um número inteiro.");
+            scanner.nextLine(); // Limpa o buffer em caso de erro
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erro: " + e.getMessage());
+        }
+    }
+}
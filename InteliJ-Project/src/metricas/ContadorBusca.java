@@ -0,0 +1,108 @@
+package metricas;
+
+/**
+ * // Classe: ContadorBusca
+ * // Descrição: Contadores de UMA busca. Cada busca cria o seu (via Metricas.iniciarBusca)
+ * //            e incrementa campos simples, sem sincronização nem acesso a estruturas
+ * //            globais dentro do laço principal. Só no 'finalizar' os valores são
+ * //            publicados nas métricas globais e no JFR, e apenas se estiverem ativos.
+ */
+public final class ContadorBusca {
+
+    private final String algoritmo;
+    private final long inicioNanos;
+    private final EventoBusca evento;
+
+    private int nosExpandidos;
+    private int nosGerados;
+    private int entradasObsoletas;
+    private int relaxamentos;
+    private int picoFronteira;
+
+    ContadorBusca(String algoritmo, EventoBusca evento) {
+        this.algoritmo = algoritmo;
+        this.evento = evento;
+        this.inicioNanos = System.nanoTime();
+        if (evento != null) {
+            evento.begin();
+        }
+    }
+
+    // Um nó foi retirado da fronteira e expandido.
+    public void expandiu() {
+        nosExpandidos++;
+    }
+
+    // Um nó foi colocado na fronteira.
+    public void gerou() {
+        nosGerados++;
+    }
+
+    // Uma entrada desatualizada saiu da fila de prioridade e foi ignorada.
+    public void descartouObsoleta() {
+        entradasObsoletas++;
+    }
+
+    // Uma aresta foi examinada (tentativa de melhorar o custo do vizinho).
+    public void relaxou() {
+        relaxamentos++;
+    }
+
+    // Informa o tamanho atual da fronteira, para guardar o maior valor visto.
+    public void fronteira(int tamanho) {
+        if (tamanho > picoFronteira) {
+            picoFronteira = tamanho;
+        }
+    }
+
+    /**
+     * // Função: finalizar
+     * // Descrição: Encerra a medição da busca: calcula a latência e publica os
+     * //            contadores nas métricas globais e no evento JFR (se houver).
+     * // Entrada: encontrado (boolean) - Se a busca achou um caminho.
+     * // Saída: Nenhuma.
+     * // Pré-Condição: Deve ser chamada uma única vez, ao fim da busca.
+     */
+    public void finalizar(boolean encontrado) {
+        long latencia = System.nanoTime() - inicioNanos;
+        Metricas.publicar(this, latencia);
+
+        if (evento != null) {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.algoritmo = algoritmo;
+                evento.nosExpandidos = nosExpandidos;
+                evento.nosGerados = nosGerados;
+                evento.entradasObsoletas = entradasObsoletas;
+                evento.relaxamentos = relaxamentos;
+                evento.picoFronteira = picoFronteira;
+                evento.encontrado = encontrado;
+                evento.commit();
+            }
+        }
+    }
+
+    public String getAlgoritmo() {
+        return algoritmo;
+    }
+
+    public int getNosExpandidos() {
+        return nosExpandidos;
+    }
+
+    public int getNosGerados() {
+        return nosGerados;
+    }
+
+    public int getEntradasObsoletas() {
+        return entradasObsoletas;
+    }
+
+    public int getRelaxamentos() {
+        return relaxamentos;
+    }
+
+    public int getPicoFronteira() {
+        return picoFronteira;
+    }
+}
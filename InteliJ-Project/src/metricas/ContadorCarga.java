@@ -0,0 +1,46 @@
+package metricas;
+
+/**
+ * // Classe: ContadorCarga
+ * // Descrição: Mede UMA leitura de arquivo de grafo (criado por Metricas.iniciarCarga).
+ * //            Guarda o instante de início e, no 'finalizar', publica o tempo de
+ * //            leitura nas métricas globais e no evento JFR (se estiverem ativos).
+ */
+public final class ContadorCarga {
+
+    private final String arquivo;
+    private final long inicioNanos;
+    private final EventoCargaGrafo evento;
+
+    ContadorCarga(String arquivo, EventoCargaGrafo evento) {
+        this.arquivo = arquivo;
+        this.evento = evento;
+        this.inicioNanos = System.nanoTime();
+        if (evento != null) {
+            evento.begin();
+        }
+    }
+
+    /**
+     * // Função: finalizar
+     * // Descrição: Encerra a medição da leitura e publica os números do arquivo.
+     * // Entrada: linhas (int) - Linhas lidas do arquivo.
+     * //          nos (int) - Nós do grafo montado.
+     * //          arestas (int) - Arestas declaradas no arquivo.
+     * // Saída: Nenhuma.
+     */
+    public void finalizar(int linhas, int nos, int arestas) {
+        Metricas.publicarCarga(System.nanoTime() - inicioNanos, linhas);
+
+        if (evento != null) {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.arquivo = arquivo;
+                evento.linhas = linhas;
+                evento.nos = nos;
+                evento.arestas = arestas;
+                evento.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * // Classe: EventoBusca
+ * // Descrição: Evento do JFR (Java Flight Recorder) emitido ao fim de cada busca.
+ * //            A duração do evento é a latência da consulta e os campos trazem os
+ * //            contadores da busca. Quando nenhuma gravação JFR está ativa, o evento
+ * //            não é confirmado e o custo é praticamente zero.
+ */
+@Name("busca.Busca")
+@Label("Busca em Grafo")
+@Category({"Busca", "Algoritmos"})
+@Description("Uma execução de algoritmo de busca, com seus contadores.")
+class EventoBusca extends Event {
+
+    @Label("Algoritmo")
+    String algoritmo;
+
+    @Label("Nós Expandidos")
+    int nosExpandidos;
+
+    @Label("Nós Gerados")
+    int nosGerados;
+
+    @Label("Entradas Obsoletas Descartadas")
+    int entradasObsoletas;
+
+    @Label("Relaxamentos")
+    int relaxamentos;
+
+    @Label("Pico da Fronteira")
+    int picoFronteira;
+
+    @Label("Caminho Encontrado")
+    boolean encontrado;
+}
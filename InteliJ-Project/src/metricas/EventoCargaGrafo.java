@@ -0,0 +1,31 @@
+package metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * // Classe: EventoCargaGrafo
+ * // Descrição: Evento do JFR emitido quando um arquivo de grafo termina de ser lido.
+ * //            A duração do evento é o tempo de leitura e interpretação do arquivo.
+ */
+@Name("busca.CargaGrafo")
+@Label("Carga de Grafo")
+@Category({"Busca", "Arquivos"})
+@Description("Leitura e montagem de um grafo a partir de um arquivo de texto.")
+class EventoCargaGrafo extends Event {
+
+    @Label("Arquivo")
+    String arquivo;
+
+    @Label("Linhas")
+    int linhas;
+
+    @Label("Nós")
+    int nos;
+
+    @Label("Arestas")
+    int arestas;
+}
@@ -0,0 +1,116 @@
+package metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * // Classe: Histograma
+ * // Descrição: Histograma de valores inteiros não negativos (ex: latências em
+ * //            nanossegundos) no estilo do HdrHistogram: cada potência de 2 é dividida
+ * //            em 16 sub-faixas, então qualquer percentil sai com erro relativo de no
+ * //            máximo ~6%, usando memória fixa (~1000 posições) não importa quantos
+ * //            valores sejam registrados. Pode ser usado por várias threads ao mesmo tempo.
+ */
+public class Histograma {
+
+    private static final int BITS_SUBFAIXA = 4;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int POSICOES = (64 - BITS_SUBFAIXA + 1) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(POSICOES);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private volatile long maximo = 0;
+
+    /**
+     * // Função: registrar
+     * // Descrição: Conta mais uma ocorrência do valor informado.
+     * // Entrada: valor (long) - O valor medido (valores negativos contam como 0).
+     * // Saída: Nenhuma.
+     */
+    public void registrar(long valor) {
+        long v = Math.max(0, valor);
+        contagens.incrementAndGet(indice(v));
+        total.increment();
+        soma.add(v);
+        if (v > maximo) {
+            synchronized (this) {
+                if (v > maximo) {
+                    maximo = v;
+                }
+            }
+        }
+    }
+
+    public long contagem() {
+        return total.sum();
+    }
+
+    public long maximo() {
+        return maximo;
+    }
+
+    public double media() {
+        long n = total.sum();
+        return n == 0 ? 0.0 : (double) soma.sum() / n;
+    }
+
+    /**
+     * // Função: percentil
+     * // Descrição: Devolve o valor abaixo do qual está a fração pedida das medidas
+     * //            (ex: 99.0 para o p99). O resultado é o limite superior da sub-faixa.
+     * // Entrada: percentual (double) - Entre 0 e 100.
+     * // Saída: O valor aproximado do percentil (0 se o histograma estiver vazio).
+     */
+    public long percentil(double percentual) {
+        long n = total.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(n * percentual / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < POSICOES; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * // Função: zerar
+     * // Descrição: Descarta todas as medidas registradas.
+     * // Entrada: Nenhuma.
+     * // Saída: Nenhuma.
+     */
+    public synchronized void zerar() {
+        for (int i = 0; i < POSICOES; i++) {
+            contagens.set(i, 0);
+        }
+        total.reset();
+        soma.reset();
+        maximo = 0;
+    }
+
+    // Valores menores que 16 têm posição própria; acima disso, a posição é formada
+    // pelo expoente (bit mais alto) e pelos 4 bits seguintes.
+    private static int indice(long v) {
+        if (v < SUBFAIXAS) {
+            return (int) v;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(v);
+        int subfaixa = (int) (v >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+        return (expoente - BITS_SUBFAIXA + 1) * SUBFAIXAS + subfaixa;
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBFAIXAS) {
+            return indice;
+        }
+        int expoente = indice / SUBFAIXAS + BITS_SUBFAIXA - 1;
+        long subfaixa = indice % SUBFAIXAS;
+        long base = (1L << expoente) | (subfaixa << (expoente - BITS_SUBFAIXA));
+        return base + (1L << (expoente - BITS_SUBFAIXA)) - 1;
+    }
+}
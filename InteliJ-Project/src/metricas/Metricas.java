@@ -0,0 +1,165 @@
+package metricas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * // Classe: Metricas
+ * // Descrição: Ponto central da instrumentação das buscas e da leitura de arquivos.
+ * //            Os algoritmos contam seus números em um ContadorBusca local e, ao
+ * //            terminar, publicam aqui. Os totais ficam agregados por algoritmo
+ * //            (contadores e histograma de latência) e podem ser consultados a
+ * //            qualquer momento com 'retrato()'. Os mesmos dados também saem como
+ * //            eventos do JFR (busca.Busca e busca.CargaGrafo), para serem vistos em
+ * //            produção sem precisar conectar um profiler.
+ * //
+ * //            A coleta começa desligada (a não ser que a JVM receba
+ * //            -Dmetricas.ativas=true): nesse caso 'publicar' só lê uma flag e
+ * //            retorna, e os eventos JFR só custam algo quando há gravação ativa.
+ */
+public final class Metricas {
+
+    private static volatile boolean ativas = Boolean.getBoolean("metricas.ativas");
+
+    private static final Map<String, Agregado> porAlgoritmo = new ConcurrentHashMap<>();
+    private static final Histograma tempoCarga = new Histograma();
+    private static final LongAdder linhasLidas = new LongAdder();
+
+    private Metricas() {}
+
+    /**
+     * // Record: RetratoAlgoritmo
+     * // Descrição: Os números acumulados de um algoritmo no momento do retrato.
+     * //            Latências em nanossegundos.
+     */
+    public record RetratoAlgoritmo(
+            String algoritmo,
+            long buscas,
+            long nosExpandidos,
+            long nosGerados,
+            long entradasObsoletas,
+            long relaxamentos,
+            int picoFronteira,
+            double latenciaMedia,
+            long latenciaP50,
+            long latenciaP99,
+            long latenciaMaxima
+    ) {}
+
+    /**
+     * // Record: Retrato
+     * // Descrição: Cópia dos números de todas as buscas e leituras de arquivo.
+     * //            Tempos de carga em nanossegundos.
+     */
+    public record Retrato(
+            List<RetratoAlgoritmo> algoritmos,
+            long cargas,
+            long linhasLidas,
+            long tempoCargaP50,
+            long tempoCargaMaximo
+    ) {}
+
+    public static boolean isAtivas() {
+        return ativas;
+    }
+
+    public static void setAtivas(boolean valor) {
+        ativas = valor;
+    }
+
+    /**
+     * // Função: iniciarBusca
+     * // Descrição: Cria o contador de uma nova busca. O evento JFR só é criado se
+     * //            houver uma gravação interessada nele.
+     * // Entrada: algoritmo (String) - Nome do algoritmo (chave da agregação).
+     * // Saída: Um ContadorBusca pronto para ser usado pela busca.
+     */
+    public static ContadorBusca iniciarBusca(String algoritmo) {
+        EventoBusca evento = new EventoBusca();
+        return new ContadorBusca(algoritmo, evento.isEnabled() ? evento : null);
+    }
+
+    /**
+     * // Função: iniciarCarga
+     * // Descrição: Cria o contador da leitura de um arquivo de grafo.
+     * // Entrada: arquivo (String) - Caminho do arquivo lido.
+     * // Saída: Um ContadorCarga pronto para ser usado pelo leitor.
+     */
+    public static ContadorCarga iniciarCarga(String arquivo) {
+        EventoCargaGrafo evento = new EventoCargaGrafo();
+        return new ContadorCarga(arquivo, evento.isEnabled() ? evento : null);
+    }
+
+    static void publicar(ContadorBusca contador, long latenciaNanos) {
+        if (!ativas) {
+            return;
+        }
+        porAlgoritmo.computeIfAbsent(contador.getAlgoritmo(), k -> new Agregado())
+                .registrar(contador, latenciaNanos);
+    }
+
+    static void publicarCarga(long tempoNanos, int linhas) {
+        if (!ativas) {
+            return;
+        }
+        tempoCarga.registrar(tempoNanos);
+        linhasLidas.add(linhas);
+    }
+
+    /**
+     * // Função: retrato
+     * // Descrição: Tira uma "foto" dos números acumulados até agora.
+     * // Entrada: Nenhuma.
+     * // Saída: Um Retrato com os números de cada algoritmo e das leituras de arquivo.
+     */
+    public static Retrato retrato() {
+        List<RetratoAlgoritmo> algoritmos = new ArrayList<>();
+        porAlgoritmo.forEach((nome, agregado) -> algoritmos.add(agregado.retrato(nome)));
+        algoritmos.sort((a, b) -> a.algoritmo().compareTo(b.algoritmo()));
+        return new Retrato(algoritmos, tempoCarga.contagem(), linhasLidas.sum(),
+                tempoCarga.percentil(50), tempoCarga.maximo());
+    }
+
+    /**
+     * // Função: zerar
+     * // Descrição: Descarta tudo o que foi acumulado (a flag de ativação não muda).
+     * // Entrada: Nenhuma.
+     * // Saída: Nenhuma.
+     */
+    public static void zerar() {
+        porAlgoritmo.clear();
+        tempoCarga.zerar();
+        linhasLidas.reset();
+    }
+
+    // Totais de um algoritmo, seguros para várias threads publicando ao mesmo tempo.
+    private static final class Agregado {
+        private final LongAdder buscas = new LongAdder();
+        private final LongAdder nosExpandidos = new LongAdder();
+        private final LongAdder nosGerados = new LongAdder();
+        private final LongAdder entradasObsoletas = new LongAdder();
+        private final LongAdder relaxamentos = new LongAdder();
+        private final AtomicInteger picoFronteira = new AtomicInteger();
+        private final Histograma latencia = new Histograma();
+
+        void registrar(ContadorBusca c, long latenciaNanos) {
+            buscas.increment();
+            nosExpandidos.add(c.getNosExpandidos());
+            nosGerados.add(c.getNosGerados());
+            entradasObsoletas.add(c.getEntradasObsoletas());
+            relaxamentos.add(c.getRelaxamentos());
+            picoFronteira.accumulateAndGet(c.getPicoFronteira(), Math::max);
+            latencia.registrar(latenciaNanos);
+        }
+
+        RetratoAlgoritmo retrato(String nome) {
+            return new RetratoAlgoritmo(nome, buscas.sum(), nosExpandidos.sum(), nosGerados.sum(),
+                    entradasObsoletas.sum(), relaxamentos.sum(), picoFronteira.get(),
+                    latencia.media(), latencia.percentil(50), latencia.percentil(99), latencia.maximo());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package rastreio;
+
+import grafo.Grafo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * // Classe: GravadorRastreio
+ * // Descrição: Grava o passo a passo de uma busca como eventos binários compactos
+ * //            (tipo + id do nó + dois valores inteiros = 13 bytes), em vez de copiar
+ * //            e ordenar a fronteira inteira a cada iteração para imprimi-la. Cada
+ * //            evento custa O(1), então uma busca rastreada fica só um pouco mais
+ * //            lenta que uma sem rastreio. A fronteira de cada iteração é reconstruída
+ * //            depois, fora da busca, pelo ReprodutorRastreio.
+ * //
+ * //            Há três modos:
+ * //              - desligado(): não grava nada (usado quando ninguém pediu rastreio);
+ * //              - emMemoria(n): guarda os últimos n eventos em um buffer circular;
+ * //              - emArquivo(caminho, grafo): grava todos os eventos em um arquivo.
+ * //
+ * // Formato do arquivo: "RSTR" + versão (int) + tabela de labels [total de nós (int),
+ * //            um label (UTF) por id] + sequência de eventos
+ * //            [tipo (byte), no (int), valor (int), extra (int)], em big-endian.
+ * //            A tabela guarda os labels do grafo no momento da gravação, porque os
+ * //            ids mudam quando o grafo é recarregado ou alterado depois.
+ */
+public final class GravadorRastreio implements AutoCloseable {
+
+    static final int MAGICO = 0x52535452; // "RSTR"
+    static final int VERSAO = 2;
+    static final int BYTES_EVENTO = 13;
+
+    // Tipos de evento. 'valor' e 'extra' dependem do tipo:
+    // INICIO:   no = nó inicial,        valor = algoritmo (ALGORITMO_*), extra = nó final
+    // PUSH:     no = nó inserido,       valor = prioridade (f ou distância), extra = g
+    // POP:      no = nó retirado,       valor = prioridade,                  extra = g
+    // RELAXA:   no = vizinho examinado, valor = custo tentativo,             extra = nó de origem
+    // PODA:     no = nó descartado,     valor = prioridade,                  extra = motivo (MOTIVO_*)
+    // FIM:      no = nó final (ou -1),  valor = distância (ou -1),           extra = nós expandidos
+    public static final byte INICIO = 1;
+    public static final byte PUSH = 2;
+    public static final byte POP = 3;
+    public static final byte RELAXA = 4;
+    public static final byte PODA = 5;
+    public static final byte FIM = 6;
+
+    public static final int ALGORITMO_A_ESTRELA = 1;
+    public static final int ALGORITMO_DIJKSTRA = 2;
+
+    public static final int MOTIVO_OBSOLETO = 1; // Entrada da fila com custo desatualizado
+    public static final int MOTIVO_LIMITE = 2;   // Custo estoura o limite (ex: fio)
+
+    private static final GravadorRastreio DESLIGADO = new GravadorRastreio(0, null);
+
+    // Buffer circular em memória: 4 ints por evento (tipo, no, valor, extra).
+    private final int[] eventos;
+    private final int capacidade;
+    private long totalGravados = 0;
+
+    // Saída em arquivo (null no modo em memória).
+    private final DataOutputStream saida;
+
+    private GravadorRastreio(int capacidade, DataOutputStream saida) {
+        this.capacidade = capacidade;
+        this.eventos = new int[capacidade * 4];
+        this.saida = saida;
+    }
+
+    public static GravadorRastreio desligado() {
+        return DESLIGADO;
+    }
+
+    /**
+     * // Função: emMemoria
+     * // Descrição: Cria um gravador que mantém apenas os últimos eventos (buffer circular).
+     * // Entrada: capacidade (int) - Quantos eventos no máximo ficam guardados.
+     * // Saída: Um GravadorRastreio em memória.
+     */
+    public static GravadorRastreio emMemoria(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade do rastreio deve ser positiva.");
+        }
+        return new GravadorRastreio(capacidade, null);
+    }
+
+    /**
+     * // Função: emArquivo
+     * // Descrição: Cria um gravador que escreve todos os eventos em um arquivo binário.
+     * // Entrada: caminho (Path) - Onde o rastreio será gravado (é sobrescrito).
+     * //          grafo (Grafo) - O grafo que será buscado; seus labels vão no cabeçalho.
+     * // Saída: Um GravadorRastreio em arquivo, que deve ser fechado com 'close'.
+     * // Lança: IOException - Se o arquivo não puder ser criado.
+     */
+    public static GravadorRastreio emArquivo(Path caminho, Grafo grafo) throws IOException {
+        OutputStream arquivo = Files.newOutputStream(caminho);
+        DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(arquivo, 1 << 16));
+        try {
+            escreverCabecalho(saida, grafo);
+        } catch (IOException e) {
+            saida.close();
+            throw e;
+        }
+        return new GravadorRastreio(0, saida);
+    }
+
+    private static void escreverCabecalho(DataOutputStream out, Grafo grafo) throws IOException {
+        out.writeInt(MAGICO);
+        out.writeInt(VERSAO);
+        out.writeInt(grafo.getTotalNos());
+        for (int id = 0; id < grafo.getTotalNos(); id++) {
+            out.writeUTF(grafo.getNo(id).getLabel());
+        }
+    }
+
+    public boolean isAtivo() {
+        return this != DESLIGADO;
+    }
+
+    public void inicio(int noInicial, int algoritmo, int noFinal) {
+        gravar(INICIO, noInicial, algoritmo, noFinal);
+    }
+
+    public void push(int no, int prioridade, int g) {
+        gravar(PUSH, no, prioridade, g);
+    }
+
+    public void pop(int no, int prioridade, int g) {
+        gravar(POP, no, prioridade, g);
+    }
+
+    public void relaxa(int vizinho, int custoTentativo, int origem) {
+        gravar(RELAXA, vizinho, custoTentativo, origem);
+    }
+
+    public void poda(int no, int prioridade, int motivo) {
+        gravar(PODA, no, prioridade, motivo);
+    }
+
+    public void fim(int noFinal, int distancia, int nosExpandidos) {
+        gravar(FIM, noFinal, distancia, nosExpandidos);
+    }
+
+    private void gravar(byte tipo, int no, int valor, int extra) {
+        if (this == DESLIGADO) {
+            return;
+        }
+        if (saida != null) {
+            try {
+                saida.writeByte(tipo);
+                saida.writeInt(no);
+                saida.writeInt(valor);
+                saida.writeInt(extra);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            int base = (int) (totalGravados % capacidade) * 4;
+            eventos[base] = tipo;
+            eventos[base + 1] = no;
+            eventos[base + 2] = valor;
+            eventos[base + 3] = extra;
+        }
+        totalGravados++;
+    }
+
+    public long getTotalGravados() {
+        return totalGravados;
+    }
+
+    /**
+     * // Função: exportar
+     * // Descrição: Grava em arquivo (no mesmo formato do modo 'emArquivo') os eventos
+     * //            que ainda estão no buffer circular, do mais antigo ao mais recente.
+     * // Entrada: caminho (Path) - Onde o rastreio será gravado.
+     * //          grafo (Grafo) - O grafo buscado; seus labels vão no cabeçalho.
+     * // Saída: Nenhuma.
+     * // Pré-Condição: O gravador deve estar no modo em memória.
+     * // Lança: IOException - Se o arquivo não puder ser escrito.
+     */
+    public void exportar(Path caminho, Grafo grafo) throws IOException {
+        if (saida != null || this == DESLIGADO) {
+            throw new IllegalStateException("Somente o rastreio em memória pode ser exportado.");
+        }
+        long guardados = Math.min(totalGravados, capacidade);
+        long primeiro = totalGravados - guardados;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(caminho), 1 << 16))) {
+            escreverCabecalho(out, grafo);
+            for (long i = primeiro; i < totalGravados; i++) {
+                int base = (int) (i % capacidade) * 4;
+                out.writeByte(eventos[base]);
+                out.writeInt(eventos[base + 1]);
+                out.writeInt(eventos[base + 2]);
+                out.writeInt(eventos[base + 3]);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (saida != null) {
+            saida.close();
+        }
+    }
+}
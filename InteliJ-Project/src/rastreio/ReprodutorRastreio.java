@@ -0,0 +1,152 @@
+package rastreio;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * // Classe: ReprodutorRastreio
+ * // Descrição: Ferramenta separada que lê um rastreio binário gravado pelo
+ * //            GravadorRastreio e reconstrói, fora da busca, a fronteira de cada
+ * //            iteração, imprimindo no mesmo formato do modo interativo
+ * //            ("Fila: (a0: 0+58=58) ..." no A* e "Lista: (a0: 0) ..." no Dijkstra).
+ * //            Toda a cópia e ordenação da fronteira acontece aqui, e não durante a busca.
+ * //
+ * // Uso: java rastreio.ReprodutorRastreio <arquivo-rastreio>
+ * //      Os labels dos nós vêm da tabela gravada no cabeçalho do rastreio, e não
+ * //      do arquivo do grafo, que pode ter mudado desde a gravação.
+ */
+public class ReprodutorRastreio {
+
+    /**
+     * // Record: Entrada
+     * // Descrição: Um item da fronteira reconstruída. 'sequencia' desempata itens
+     * //            com a mesma prioridade pela ordem de inserção.
+     */
+    private record Entrada(int no, int prioridade, int g, long sequencia) {}
+
+    private static final Comparator<Entrada> ORDEM = Comparator
+            .comparingInt(Entrada::prioridade)
+            .thenComparingLong(Entrada::sequencia);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: java rastreio.ReprodutorRastreio <arquivo-rastreio>");
+            System.exit(1);
+        }
+
+        reproduzir(Path.of(args[0]), System.out);
+    }
+
+    /**
+     * // Função: reproduzir
+     * // Descrição: Lê os eventos do arquivo em ordem e mantém uma cópia da fronteira:
+     * //            PUSH insere, POP remove. Antes de cada POP, imprime a fronteira
+     * //            ordenada por prioridade, como o modo interativo fazia a cada iteração.
+     * //            Os ids são traduzidos pela tabela de labels do cabeçalho.
+     * // Entrada: arquivo (Path) - O rastreio binário.
+     * //          saida (PrintStream) - Onde imprimir a reprodução.
+     * // Saída: Nenhuma (imprime a reprodução).
+     * // Lança: IOException - Se o arquivo não existir ou não for um rastreio válido.
+     */
+    public static void reproduzir(Path arquivo, PrintStream saida) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo), 1 << 16))) {
+            if (in.readInt() != GravadorRastreio.MAGICO) {
+                throw new IOException("Arquivo não é um rastreio válido: " + arquivo);
+            }
+            int versao = in.readInt();
+            if (versao != GravadorRastreio.VERSAO) {
+                throw new IOException("Versão de rastreio não suportada (" + versao + "), grave-o novamente: " + arquivo);
+            }
+            String[] labels = new String[in.readInt()];
+            for (int id = 0; id < labels.length; id++) {
+                labels[id] = in.readUTF();
+            }
+            IntFunction<String> nomes = id -> (id >= 0 && id < labels.length) ? labels[id] : "#" + id;
+
+            TreeSet<Entrada> fronteira = new TreeSet<>(ORDEM);
+            Map<Long, Deque<Entrada>> porChave = new HashMap<>();
+            int algoritmo = GravadorRastreio.ALGORITMO_A_ESTRELA;
+            long sequencia = 0;
+            int iteracao = 0;
+
+            while (true) {
+                byte tipo;
+                try {
+                    tipo = in.readByte();
+                } catch (EOFException fimDoArquivo) {
+                    break;
+                }
+                int no = in.readInt();
+                int valor = in.readInt();
+                int extra = in.readInt();
+
+                switch (tipo) {
+                    case GravadorRastreio.INICIO -> {
+                        algoritmo = valor;
+                        fronteira.clear();
+                        porChave.clear();
+                        iteracao = 0;
+                        saida.printf("Início da execução (%s): %s -> %s%n",
+                                algoritmo == GravadorRastreio.ALGORITMO_DIJKSTRA ? "Dijkstra" : "A*",
+                                nomes.apply(no), nomes.apply(extra));
+                    }
+                    case GravadorRastreio.PUSH -> {
+                        Entrada entrada = new Entrada(no, valor, extra, sequencia++);
+                        fronteira.add(entrada);
+                        porChave.computeIfAbsent(chave(no, valor), k -> new ArrayDeque<>()).addLast(entrada);
+                    }
+                    case GravadorRastreio.POP -> {
+                        iteracao++;
+                        saida.println("\nIteração " + iteracao + ":");
+                        imprimirFronteira(fronteira, algoritmo, nomes, saida);
+                        Deque<Entrada> iguais = porChave.get(chave(no, valor));
+                        if (iguais != null && !iguais.isEmpty()) {
+                            fronteira.remove(iguais.pollFirst());
+                        }
+                        saida.println("Expandindo: " + nomes.apply(no));
+                    }
+                    case GravadorRastreio.PODA -> saida.println(extra == GravadorRastreio.MOTIVO_LIMITE
+                            ? "Descartado por falta de fio: " + nomes.apply(no)
+                            : "Descartado (entrada desatualizada): " + nomes.apply(no));
+                    case GravadorRastreio.FIM -> {
+                        saida.println("\nFim da execução");
+                        if (no < 0) {
+                            saida.println("Caminho não encontrado.");
+                        } else {
+                            saida.println("Distância: " + valor);
+                        }
+                        saida.println("Medida de desempenho (Nós expandidos): " + extra);
+                    }
+                    default -> {
+                        // RELAXA não altera a fronteira; tipos desconhecidos são ignorados.
+                    }
+                }
+            }
+        }
+    }
+
+    private static long chave(int no, int prioridade) {
+        return ((long) no << 32) | (prioridade & 0xFFFFFFFFL);
+    }
+
+    private static void imprimirFronteira(TreeSet<Entrada> fronteira, int algoritmo,
+                                          IntFunction<String> nomes, PrintStream saida) {
+        StringBuilder sb = new StringBuilder(algoritmo == GravadorRastreio.ALGORITMO_DIJKSTRA ? "Lista: " : "Fila: ");
+        for (Entrada e : fronteira) {
+            if (algoritmo == GravadorRastreio.ALGORITMO_DIJKSTRA) {
+                sb.append(String.format("(%s: %d) ", nomes.apply(e.no()), e.prioridade()));
+            } else {
+                sb.append(String.format("(%s: %d+%d=%d) ", nomes.apply(e.no()), e.g(),
+                        e.prioridade() - e.g(), e.prioridade()));
+            }
+        }
+        saida.println(sb.toString().trim());
+    }
+}
@@ -0,0 +1,315 @@
+package servidor;
+
+import algoritmos.BuscaVersao;
+import algoritmos.ResultadoBusca;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import grafo.GrafoVersionado;
+import grafo.No;
+import grafo.VersaoGrafo;
+import utils.DadosArquivo;
+import utils.LeitorArquivo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * // Classe: ServidorRotas
+ * // Descrição: Modo servidor: carrega o grafo UMA vez e fica respondendo consultas de
+ * //            rota por HTTP na máquina local, em vez de uma sessão interativa por
+ * //            pergunta. Cada requisição roda em uma virtual thread.
+ * //
+ * //            O grafo fica em um GrafoVersionado: cada consulta fixa a versão publicada
+ * //            quando começou e a usa até o fim (sem travas), enquanto /aresta publica
+ * //            versões novas. Uma busca nunca vê uma alteração pela metade, e a resposta
+ * //            diz em qual versão ela rodou.
+ * //
+ * //            - Limite de tempo: se a busca passar do prazo, ela é cancelada de forma
+ * //              cooperativa e a resposta é 504.
+ * //            - Controle de carga: no máximo 'maxConcorrentes' buscas ao mesmo tempo;
+ * //              acima disso a requisição é recusada na hora com 503, em vez de enfileirar.
+ * //
+ * // Uso: java servidor.ServidorRotas <arquivo-grafo> [porta] [maxConcorrentes] [timeoutMs]
+ * // Consulta: GET /rota?algoritmo=astar|dijkstra|dfs&origem=a0&destino=f0[&limiteFio=150]
+ * //           POST /aresta?origem=a0&destino=b0&peso=30   (cria ou altera o peso)
+ * //           DELETE /aresta?origem=a0&destino=b0
+ * //           GET /saude
+ */
+public class ServidorRotas {
+
+    public static final int PORTA_PADRAO = 8080;
+    public static final int MAX_CONCORRENTES_PADRAO = 64;
+    public static final long TIMEOUT_PADRAO_MS = 2000;
+
+    private final GrafoVersionado grafo;
+    private final int portaDesejada;
+    private final long timeoutMs;
+    private final Semaphore vagas;
+    private final ScheduledExecutorService agendador;
+    private HttpServer servidor;
+    private ExecutorService executor;
+
+    public ServidorRotas(GrafoVersionado grafo, int porta, int maxConcorrentes, long timeoutMs) {
+        this.grafo = grafo;
+        this.portaDesejada = porta;
+        this.timeoutMs = timeoutMs;
+        this.vagas = new Semaphore(maxConcorrentes);
+        this.agendador = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: java servidor.ServidorRotas <arquivo-grafo> [porta] [maxConcorrentes] [timeoutMs]");
+            System.exit(1);
+        }
+        int porta = args.length > 1 ? Integer.parseInt(args[1]) : PORTA_PADRAO;
+        int maxConcorrentes = args.length > 2 ? Integer.parseInt(args[2]) : MAX_CONCORRENTES_PADRAO;
+        long timeoutMs = args.length > 3 ? Long.parseLong(args[3]) : TIMEOUT_PADRAO_MS;
+
+        DadosArquivo dados = LeitorArquivo.carregarGrafo(args[0]);
+        ServidorRotas servidor = new ServidorRotas(GrafoVersionado.de(dados.grafo()), porta, maxConcorrentes, timeoutMs);
+        servidor.iniciar();
+        Runtime.getRuntime().addShutdownHook(new Thread(servidor::parar));
+
+        System.out.println("Grafo carregado: " + dados.grafo().getTotalNos() + " nós, "
+                + dados.grafo().getQuantidadeArestas() + " arestas.");
+        System.out.println("Servidor de rotas ouvindo em http://localhost:" + servidor.getPorta() + "/rota");
+    }
+
+    /**
+     * // Função: iniciar
+     * // Descrição: Abre o servidor HTTP no endereço local (loopback) e passa a atender.
+     * // Entrada: Nenhuma.
+     * // Saída: Nenhuma.
+     * // Lança: IOException - Se a porta não puder ser aberta.
+     */
+    public void iniciar() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), portaDesejada), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(executor);
+        servidor.createContext("/rota", this::atenderRota);
+        servidor.createContext("/aresta", this::atenderAresta);
+        servidor.createContext("/saude", troca -> responder(troca, 200, "{\"estado\":\"ok\"}"));
+        servidor.start();
+    }
+
+    /**
+     * // Função: parar
+     * // Descrição: Fecha o servidor e libera as threads.
+     * // Entrada: Nenhuma.
+     * // Saída: Nenhuma.
+     */
+    public void parar() {
+        if (servidor != null) {
+            servidor.stop(0);
+            executor.shutdownNow();
+        }
+        agendador.shutdownNow();
+    }
+
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * // Função: atenderRota
+     * // Descrição: Trata uma requisição /rota: lê os parâmetros, reserva uma vaga
+     * //            (ou responde 503), agenda o cancelamento pelo prazo, roda a busca
+     * //            e devolve o resultado em JSON.
+     * // Entrada: troca (HttpExchange) - A requisição HTTP.
+     * // Saída: Nenhuma (a resposta é escrita na troca).
+     */
+    private void atenderRota(HttpExchange troca) throws IOException {
+        if (!"GET".equals(troca.getRequestMethod())) {
+            responder(troca, 405, erro("Use GET."));
+            return;
+        }
+
+        Map<String, String> parametros = lerParametros(troca.getRequestURI().getRawQuery());
+        String algoritmo = switch (parametros.getOrDefault("algoritmo", "astar").toLowerCase()) {
+            case "dfs" -> "dfs";
+            case "dijkstra" -> "dijkstra";
+            case "astar", "a*", "aestrela" -> "astar";
+            default -> null;
+        };
+        if (algoritmo == null) {
+            responder(troca, 400, erro("Algoritmo desconhecido: " + parametros.get("algoritmo")));
+            return;
+        }
+        String origem = parametros.get("origem");
+        String destino = parametros.get("destino");
+        if (origem == null || destino == null) {
+            responder(troca, 400, erro("Parâmetros 'origem' e 'destino' são obrigatórios."));
+            return;
+        }
+        origem = origem.toLowerCase();
+        destino = destino.toLowerCase();
+
+        int limiteFio = Integer.MAX_VALUE;
+        if (parametros.containsKey("limiteFio")) {
+            try {
+                limiteFio = Integer.parseInt(parametros.get("limiteFio"));
+            } catch (NumberFormatException e) {
+                responder(troca, 400, erro("'limiteFio' deve ser um número inteiro."));
+                return;
+            }
+        }
+
+        // Só chega aqui uma requisição válida: a vaga e o prazo são sempre de uma busca de verdade.
+        if (!vagas.tryAcquire()) {
+            responder(troca, 503, erro("Servidor ocupado, tente novamente."));
+            return;
+        }
+
+        AtomicBoolean cancelado = new AtomicBoolean(false);
+        ScheduledFuture<?> prazo = agendador.schedule(() -> cancelado.set(true), timeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            // A versão é fixada aqui; escritas publicadas durante a busca não a afetam.
+            VersaoGrafo versao = grafo.atual();
+            ResultadoBusca resultado = switch (algoritmo) {
+                case "dfs" -> BuscaVersao.dfs(versao, origem, destino, cancelado);
+                case "dijkstra" -> BuscaVersao.dijkstra(versao, origem, destino, limiteFio, cancelado);
+                default -> BuscaVersao.aEstrela(versao, origem, destino, cancelado);
+            };
+
+            if (resultado == null) {
+                responder(troca, 504, erro("Tempo limite de " + timeoutMs + " ms excedido."));
+                return;
+            }
+            responder(troca, 200, paraJson(resultado, versao.getNumero()));
+        } finally {
+            prazo.cancel(false);
+            vagas.release();
+        }
+    }
+
+    /**
+     * // Função: atenderAresta
+     * // Descrição: Trata uma escrita em /aresta: POST cria a aresta ou troca o seu peso,
+     * //            DELETE a remove. Cada escrita publica uma versão nova do grafo; as
+     * //            buscas em andamento continuam na versão que fixaram.
+     * // Entrada: troca (HttpExchange) - A requisição HTTP.
+     * // Saída: Nenhuma (a resposta traz o número da versão publicada).
+     */
+    private void atenderAresta(HttpExchange troca) throws IOException {
+        String metodo = troca.getRequestMethod();
+        if (!"POST".equals(metodo) && !"DELETE".equals(metodo)) {
+            responder(troca, 405, erro("Use POST ou DELETE."));
+            return;
+        }
+
+        Map<String, String> parametros = lerParametros(troca.getRequestURI().getRawQuery());
+        String origem = parametros.get("origem");
+        String destino = parametros.get("destino");
+        if (origem == null || destino == null) {
+            responder(troca, 400, erro("Parâmetros 'origem' e 'destino' são obrigatórios."));
+            return;
+        }
+        String labelOrigem = origem.toLowerCase();
+        String labelDestino = destino.toLowerCase();
+
+        VersaoGrafo versao;
+        if ("DELETE".equals(metodo)) {
+            boolean[] existia = new boolean[1];
+            versao = grafo.atualizar(edicao -> existia[0] = edicao.removerAresta(labelOrigem, labelDestino));
+            if (!existia[0]) {
+                responder(troca, 404, erro("Aresta não encontrada: " + labelOrigem + " -> " + labelDestino));
+                return;
+            }
+        } else {
+            int peso;
+            try {
+                peso = Integer.parseInt(parametros.getOrDefault("peso", ""));
+            } catch (NumberFormatException e) {
+                responder(troca, 400, erro("'peso' deve ser um número inteiro."));
+                return;
+            }
+            if (peso < 0) {
+                responder(troca, 400, erro("'peso' não pode ser negativo."));
+                return;
+            }
+            versao = grafo.alterarPeso(labelOrigem, labelDestino, peso);
+        }
+        responder(troca, 200, "{\"versao\":" + versao.getNumero() + ",\"arestas\":" + versao.getQuantidadeArestas() + "}");
+    }
+
+    private static Map<String, String> lerParametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null || consulta.isEmpty()) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametros;
+    }
+
+    private static String paraJson(ResultadoBusca resultado, long versao) {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"versao\":").append(versao).append(',');
+        sb.append("\"algoritmo\":\"").append(escapar(resultado.algoritmo())).append("\",");
+        sb.append("\"encontrado\":").append(resultado.encontrado()).append(',');
+        if (resultado.encontrado()) {
+            sb.append("\"distancia\":").append(resultado.distancia()).append(',');
+        }
+        sb.append("\"caminho\":[");
+        boolean primeiro = true;
+        for (No no : resultado.caminho()) {
+            if (!primeiro) {
+                sb.append(',');
+            }
+            sb.append('"').append(escapar(no.getLabel())).append('"');
+            primeiro = false;
+        }
+        sb.append("],\"nosExpandidos\":").append(resultado.nosExpandidos()).append('}');
+        return sb.toString();
+    }
+
+    private static String erro(String mensagem) {
+        return "{\"erro\":\"" + escapar(mensagem) + "\"}";
+    }
+
+    private static String escapar(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length());
+        for (char c : texto.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void responder(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+}
@@ -2,23 +2,55 @@ package utils;
 
 import grafo.Grafo;
 
+import java.util.List;
+
 /**
  * // Record: DadosArquivo
  * // Descrição: Este é um 'record', uma forma moderna no Java de criar uma classe
  * //            que serve apenas para guardar dados de forma imutável. É basicamente
  * //            um "pacote" de informações. A sua função aqui é carregar de forma
- * //            organizada tudo o que foi lido do arquivo: o grafo completo, o nome
- * //            do nó inicial e o nome do nó final. Isso limpa o código, pois em vez
+ * //            organizada tudo o que foi lido do arquivo: o grafo completo, os nomes
+ * //            dos nós iniciais e os nomes dos nós finais. Isso limpa o código, pois em vez
  * //            de passar 3 variáveis separadas entre as funções, passamos apenas
  * //            um objeto 'DadosArquivo'.
  * //
  * // Componentes (Campos):
  * //   - grafo (Grafo): O objeto do grafo que foi construído a partir do arquivo.
- * //   - noInicialLabel (String): O nome (label) do nó de partida da busca.
- * //   - noFinalLabel (String): O nome (label) do nó de destino da busca.
+ * //   - noIniciaisLabels (List<String>): Os nomes dos nós de partida, na ordem do arquivo
+ * //                                      (ex: vários depósitos). Nunca vazia.
+ * //   - noFinaisLabels (List<String>): Os nomes dos nós de destino, na ordem do arquivo.
+ * //                                    Nunca vazia.
  */
 public record DadosArquivo(
         Grafo grafo,
-        String noInicialLabel,
-        String noFinalLabel
-) {}
\ No newline at end of file
+        List<String> noIniciaisLabels,
+        List<String> noFinaisLabels
+) {
+
+    public DadosArquivo {
+        if (noIniciaisLabels.isEmpty() || noFinaisLabels.isEmpty()) {
+            throw new IllegalArgumentException("É preciso pelo menos um nó inicial e um nó final.");
+        }
+        noIniciaisLabels = List.copyOf(noIniciaisLabels);
+        noFinaisLabels = List.copyOf(noFinaisLabels);
+    }
+
+    public DadosArquivo(Grafo grafo, String noInicialLabel, String noFinalLabel) {
+        this(grafo, List.of(noInicialLabel), List.of(noFinalLabel));
+    }
+
+    // O (primeiro) nó de partida, usado pelos algoritmos de origem única.
+    public String noInicialLabel() {
+        return noIniciaisLabels.get(0);
+    }
+
+    // O (primeiro) nó de destino, usado pelos algoritmos de destino único.
+    public String noFinalLabel() {
+        return noFinaisLabels.get(0);
+    }
+
+    // Se o arquivo declarou mais de uma origem ou mais de um destino.
+    public boolean isMultiplo() {
+        return noIniciaisLabels.size() > 1 || noFinaisLabels.size() > 1;
+    }
+}
@@ -0,0 +1,72 @@
+package utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * // Classe: HeuristicasPorDestino
+ * // Descrição: Guarda as linhas 'h(nó, destino, valor)' separadas pelo destino, para
+ * //            quando o arquivo tem vários 'ponto_final'. Nesse caso há uma linha por
+ * //            destino para o mesmo nó, e ficar com a última lida (como num arquivo de
+ * //            um destino só) pode superestimar a distância até o destino mais perto.
+ * //            'resolver' devolve, para cada nó, o MENOR valor entre os destinos pedidos,
+ * //            que nunca passa da distância até o destino mais próximo.
+ */
+final class HeuristicasPorDestino {
+
+    private final Map<String, Map<Integer, Integer>> porDestino = new HashMap<>();
+    // As linhas costumam vir agrupadas pelo destino: evita criar uma String por linha.
+    private String ultimoDestino;
+    private Map<Integer, Integer> ultimoMapa;
+
+    /**
+     * // Função: registrar
+     * // Descrição: Anota a heurística de um nó até o destino escrito em [de, ate) da linha.
+     * // Entrada: linha (String) - A linha 'h(...)'.
+     * //          de (int), ate (int) - Onde está o label do destino na linha.
+     * //          no (int) - O id do nó.
+     * //          valor (int) - A heurística.
+     * // Saída: Nenhuma.
+     */
+    void registrar(String linha, int de, int ate, int no, int valor) {
+        if (ultimoDestino == null || ultimoDestino.length() != ate - de
+                || !linha.regionMatches(de, ultimoDestino, 0, ate - de)) {
+            ultimoDestino = linha.substring(de, ate);
+            ultimoMapa = porDestino.computeIfAbsent(ultimoDestino, destino -> new HashMap<>());
+        }
+        ultimoMapa.merge(no, valor, Math::min);
+    }
+
+    /**
+     * // Função: resolver
+     * // Descrição: Combina as heurísticas dos destinos pedidos: cada nó fica com o menor
+     * //            valor entre eles. Um nó sem linha para algum dos destinos fica de fora
+     * //            (heurística 0), já que nada se sabe da sua distância até esse destino.
+     * // Entrada: destinos (List<String>) - Os labels dos pontos finais.
+     * // Saída: O mapa id do nó -> heurística (nós ausentes têm heurística 0).
+     */
+    Map<Integer, Integer> resolver(List<String> destinos) {
+        Map<Integer, Integer> resultado = new HashMap<>();
+        Map<Integer, Integer> primeiro = porDestino.get(destinos.get(0));
+        if (primeiro == null) {
+            return resultado;
+        }
+        for (Map.Entry<Integer, Integer> entrada : primeiro.entrySet()) {
+            int menor = entrada.getValue();
+            boolean emTodos = true;
+            for (int i = 1; i < destinos.size() && emTodos; i++) {
+                Integer valor = porDestino.getOrDefault(destinos.get(i), Map.of()).get(entrada.getKey());
+                if (valor == null) {
+                    emTodos = false;
+                } else {
+                    menor = Math.min(menor, valor);
+                }
+            }
+            if (emTodos) {
+                resultado.put(entrada.getKey(), menor);
+            }
+        }
+        return resultado;
+    }
+}
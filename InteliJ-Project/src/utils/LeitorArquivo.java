@@ -2,10 +2,16 @@ package utils;
 
 import grafo.Grafo;
 import grafo.No;
+import grafo.TabelaSimbolos;
+import metricas.ContadorCarga;
+import metricas.Metricas;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * // Classe: LeitorArquivo
@@ -22,7 +28,11 @@ public class LeitorArquivo {
      * //            Ele lê cada linha, ignora comentários (qualquer coisa após '%'),
      * //            converte tudo para minúsculo e interpreta comandos como 'ponto_inicial',
      * //            'pode_ir', 'h()', etc., para popular o grafo com nós, arestas,
-     * //            heurísticas e outras configurações.
+     * //            heurísticas e outras configurações. 'ponto_inicial' e 'ponto_final'
+     * //            aceitam vários nós (ex: "ponto_inicial(d1, d2, d3).") e podem se
+     * //            repetir; os nós se acumulam na ordem do arquivo. Com mais de um
+     * //            ponto_final, a heurística de cada nó é a menor entre as linhas 'h'
+     * //            dos pontos finais (veja HeuristicasPorDestino).
      * // Entrada: caminhoArquivo (String) - O caminho para o arquivo .txt que descreve o grafo.
      * // Saída: Um objeto 'DadosArquivo' que contém o grafo montado e os nomes dos
      * //        pontos inicial e final.
@@ -33,16 +43,35 @@ public class LeitorArquivo {
      * // Pós-Condição: Retorna um 'DadosArquivo' pronto para ser usado pelos algoritmos de busca.
      */
     public static DadosArquivo carregarGrafo(String caminhoArquivo) throws IOException {
-        Grafo grafo = new Grafo();
-        String noInicialLabel = null;
-        String noFinalLabel = null;
+        return carregarGrafo(caminhoArquivo, new TabelaSimbolos());
+    }
+
+    /**
+     * // Função: carregarGrafo
+     * // Descrição: Igual à versão acima, mas monta o grafo sobre uma tabela de símbolos
+     * //            já existente (por exemplo, salva antes e aberta com TabelaSimbolos.mapear).
+     * //            Labels que já estão na tabela mantêm o mesmo id.
+     * // Entrada: caminhoArquivo (String) - O caminho para o arquivo .txt do grafo.
+     * //          tabela (TabelaSimbolos) - A tabela onde os labels serão guardados.
+     * // Saída: Um 'DadosArquivo' com o grafo montado.
+     * // Lança: IOException - Nos mesmos casos da versão acima.
+     */
+    public static DadosArquivo carregarGrafo(String caminhoArquivo, TabelaSimbolos tabela) throws IOException {
+        ContadorCarga contador = Metricas.iniciarCarga(caminhoArquivo);
+        Grafo grafo = new Grafo(tabela);
+        List<String> noIniciaisLabels = new ArrayList<>();
+        List<String> noFinaisLabels = new ArrayList<>();
+        int totalLinhas = 0;
+        int totalArestas = 0;
+        int[] campos = new int[6]; // início e fim de até 3 campos entre parênteses
+        HeuristicasPorDestino heuristicas = new HeuristicasPorDestino();
 
         // 'try-with-resources' garante que o 'reader' será fechado automaticamente no final.
         try (BufferedReader reader = new BufferedReader(new FileReader(caminhoArquivo))) {
             String linha;
             while ((linha = reader.readLine()) != null) {
-                // Remove comentários (tudo depois de '%') e espaços em branco desnecessários.
-                linha = linha.split("%")[0].trim().toLowerCase();
+                totalLinhas++;
+                linha = limparLinha(linha);
 
                 if (linha.isEmpty()) {
                     continue; // Pula linhas vazias
@@ -50,46 +79,137 @@ public class LeitorArquivo {
 
                 // Interpreta cada tipo de comando do arquivo
                 if (linha.startsWith("ponto_inicial")) {
-                    noInicialLabel = extrairConteudo(linha);
+                    adicionarLabels(linha, noIniciaisLabels);
                 } else if (linha.startsWith("ponto_final")) {
-                    noFinalLabel = extrairConteudo(linha);
+                    adicionarLabels(linha, noFinaisLabels);
                 } else if (linha.startsWith("orientado")) {
                     String valor = extrairConteudo(linha);
                     grafo.setOrientado(valor.equals("s"));
                 } else if (linha.startsWith("pode_ir") || linha.startsWith("pode ir")) {
-                    String[] partes = extrairConteudo(linha).split(",");
-                    if (partes.length == 3) {
-                        String origem = partes[0].trim();
-                        String destino = partes[1].trim();
-                        int peso = Integer.parseInt(partes[2].trim());
+                    // Os labels vão direto da linha para a tabela de símbolos, sem criar Strings.
+                    if (separarCampos(linha, campos) == 3) {
+                        int origem = grafo.obterNo(linha, campos[0], campos[1]);
+                        int destino = grafo.obterNo(linha, campos[2], campos[3]);
+                        int peso = Integer.parseInt(linha, campos[4], campos[5], 10);
                         grafo.setAresta(origem, destino, peso);
+                        totalArestas++;
                     }
                 } else if (linha.startsWith("h(")) {
-                    // O formato esperado é h(Nó, heuristica, X) - ignoramos o X.
-                    String[] partes = extrairConteudo(linha).split(",");
-                    if (partes.length == 3) {
-                        String noLabel = partes[0].trim();
-                        int heuristica = Integer.parseInt(partes[2].trim());
-                        grafo.setNo(noLabel); // Garante que o nó existe
-                        No no = grafo.getNo(noLabel);
-                        if (no != null) {
-                            no.setHeuristica(heuristica);
-                        }
+                    // O formato esperado é h(Nó, Destino, heuristica). Com um só ponto_final
+                    // o destino é ignorado; com vários, ele é usado no fim da leitura.
+                    if (separarCampos(linha, campos) == 3) {
+                        int heuristica = Integer.parseInt(linha, campos[4], campos[5], 10);
+                        int id = grafo.obterNo(linha, campos[0], campos[1]); // Garante que o nó existe
+                        grafo.getNo(id).setHeuristica(heuristica);
+                        heuristicas.registrar(linha, campos[2], campos[3], id, heuristica);
                     }
                 }
             }
         }
 
         // Validação final para garantir que o arquivo tinha o mínimo necessário.
-        if (noInicialLabel == null || noFinalLabel == null) {
+        if (noIniciaisLabels.isEmpty() || noFinaisLabels.isEmpty()) {
             throw new IOException("Arquivo de entrada deve especificar 'ponto_inicial' e 'ponto_final'.");
         }
 
+        // Vários destinos: h(n) passa a ser a menor entre os pontos finais.
+        if (noFinaisLabels.size() > 1) {
+            Map<Integer, Integer> menores = heuristicas.resolver(noFinaisLabels);
+            for (No no : grafo.getTodosNos()) {
+                no.setHeuristica(menores.getOrDefault(no.getId(), 0));
+            }
+        }
+
+        // Índice de arestas: deixa as listas de adjacência ordenadas pelo destino.
+        grafo.ordenarAdjacencias();
+
+        contador.finalizar(totalLinhas, grafo.getTodosNos().size(), totalArestas);
+
         // Empacota tudo em um objeto DadosArquivo e retorna.
-        return new DadosArquivo(grafo, noInicialLabel, noFinalLabel);
+        return new DadosArquivo(grafo, noIniciaisLabels, noFinaisLabels);
     }
 
 
+    /**
+     * // Função: limparLinha
+     * // Descrição: Remove comentários (tudo depois de '%') e espaços em branco
+     * //            desnecessários, e passa a linha para minúsculo.
+     * // Entrada: linha (String) - A linha como veio do arquivo.
+     * // Saída: A linha pronta para ser interpretada (vazia se só tinha comentário).
+     */
+    static String limparLinha(String linha) {
+        int comentario = linha.indexOf('%');
+        if (comentario != -1) {
+            linha = linha.substring(0, comentario);
+        }
+        return linha.trim().toLowerCase();
+    }
+
+    /**
+     * // Função: separarCampos
+     * // Descrição: Versão sem criação de Strings do "extrairConteudo + split(',')".
+     * //            Encontra os campos separados por vírgula dentro dos parênteses e
+     * //            guarda em 'limites' o início e o fim (já sem espaços) de cada um.
+     * //            Ex: em "pode_ir(a, b, 5)", o campo 0 é "a", o 1 é "b" e o 2 é "5".
+     * //            Campos vazios no final não contam, como no split(','): "pode_ir(a,b,5,)"
+     * //            tem 3 campos.
+     * // Entrada: linha (String) - A linha de texto completa.
+     * //          limites (int[]) - Recebe [inicio0, fim0, inicio1, fim1, ...].
+     * // Saída: Quantos campos foram encontrados (0 se não houver parênteses).
+     * // Pré-Condição: 'limites' deve ter espaço para os campos que interessam.
+     * // Pós-Condição: Os limites dos primeiros campos ficam preenchidos.
+     */
+    static int separarCampos(String linha, int[] limites) {
+        int inicio = linha.indexOf('(');
+        int fim = linha.lastIndexOf(')');
+        if (inicio == -1 || fim == -1 || fim <= inicio) {
+            return 0;
+        }
+
+        int campos = 0;
+        int naoVazios = 0; // Quantidade de campos até o último que não é vazio
+        int de = inicio + 1;
+        while (true) {
+            int virgula = linha.indexOf(',', de);
+            int ate = (virgula == -1 || virgula > fim) ? fim : virgula;
+
+            int a = de;
+            int b = ate;
+            while (a < b && Character.isWhitespace(linha.charAt(a))) a++;
+            while (b > a && Character.isWhitespace(linha.charAt(b - 1))) b--;
+            if (campos * 2 + 1 < limites.length) {
+                limites[campos * 2] = a;
+                limites[campos * 2 + 1] = b;
+            }
+            campos++;
+            if (a < b) {
+                naoVazios = campos;
+            }
+
+            if (ate == fim) {
+                return naoVazios;
+            }
+            de = ate + 1;
+        }
+    }
+
+    /**
+     * // Função: adicionarLabels
+     * // Descrição: Lê a lista de nós de um 'ponto_inicial(...)' ou 'ponto_final(...)'
+     * //            (separados por vírgula) e acrescenta os que ainda não estão na lista.
+     * // Entrada: linha (String) - A linha de texto completa.
+     * //          labels (List<String>) - A lista que recebe os nós.
+     * // Saída: Nenhuma.
+     */
+    static void adicionarLabels(String linha, List<String> labels) {
+        for (String label : extrairConteudo(linha).split(",")) {
+            label = label.trim();
+            if (!label.isEmpty() && !labels.contains(label)) {
+                labels.add(label);
+            }
+        }
+    }
+
     /**
      * // Função: extrairConteudo
      * // Descrição: Uma pequena função auxiliar (helper) para manter o código limpo.
@@ -101,7 +221,7 @@ public class LeitorArquivo {
      * // Pré-Condição: Nenhuma.
      * // Pós-Condição: Retorna o texto extraído.
      */
-    private static String extrairConteudo(String linha) {
+    static String extrairConteudo(String linha) {
         int inicio = linha.indexOf('(');
         int fim = linha.lastIndexOf(')');
         if (inicio != -1 && fim != -1 && fim > inicio) {
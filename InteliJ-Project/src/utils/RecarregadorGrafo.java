@@ -0,0 +1,352 @@
+package utils;
+
+import grafo.Aresta;
+import grafo.Grafo;
+import grafo.No;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * // Classe: RecarregadorGrafo
+ * // Descrição: Mantém um grafo "vivo" ligado ao seu arquivo e aplica só as mudanças,
+ * //            em vez de montar tudo de novo quando o arquivo muda. Há duas formas:
+ * //              - recarregar(): relê o arquivo do mapa e compara com o grafo carregado,
+ * //                aplicando apenas as arestas novas, removidas ou com peso diferente
+ * //                (e as heurísticas que mudaram);
+ * //              - aplicarDelta(arquivo): lê um arquivo só com as mudanças, e o custo
+ * //                fica proporcional ao tamanho do delta, não do mapa.
+ * //            Também pode observar o arquivo: a thread de observação só anota que ele
+ * //            foi salvo, e a recarga é feita por quem usa o grafo ('recarregarSePreciso'),
+ * //            entre uma busca e outra.
+ * //
+ * // Formato do arquivo delta (uma mudança por linha, '%' para comentários):
+ * //   adicionar(a, b, 10).   - cria a aresta (como um 'pode_ir'; se já existir, fica o menor peso)
+ * //   alterar(a, b, 12).     - define o peso da aresta (criando-a se não existir)
+ * //   remover(a, b).         - remove a aresta
+ * //   h(a, f, 7).            - define a heurística do nó
+ * //
+ * // Observação: as mudanças são feitas no próprio grafo, então não devem acontecer
+ * //            ao mesmo tempo que uma busca sobre ele. Por isso nenhuma delas é feita
+ * //            pela thread de observação.
+ */
+public class RecarregadorGrafo {
+
+    /**
+     * // Record: ResultadoRecarga
+     * // Descrição: Resumo do que mudou em uma recarga.
+     * //   - adicionadas, removidas, alteradas (int): Arestas afetadas (como declaradas no arquivo).
+     * //   - heuristicas (int): Nós cuja heurística mudou.
+     * //   - completa (boolean): Se foi preciso montar o grafo do zero (ex: 'orientado' mudou).
+     * //   - tempoNanos (long): Quanto tempo a recarga levou.
+     */
+    public record ResultadoRecarga(int adicionadas, int removidas, int alteradas, int heuristicas,
+                                   boolean completa, long tempoNanos) {}
+
+    private final String caminhoArquivo;
+    private volatile DadosArquivo dados;
+    private Thread observador;
+    private WatchService servicoObservacao;
+    private final AtomicBoolean arquivoMudou = new AtomicBoolean(false);
+
+    private RecarregadorGrafo(String caminhoArquivo, DadosArquivo dados) {
+        this.caminhoArquivo = caminhoArquivo;
+        this.dados = dados;
+    }
+
+    /**
+     * // Função: carregar
+     * // Descrição: Carrega o grafo do arquivo (com o LeitorArquivo) e guarda o caminho
+     * //            para as próximas recargas.
+     * // Entrada: caminhoArquivo (String) - O arquivo do mapa.
+     * // Saída: O RecarregadorGrafo com o grafo carregado.
+     * // Lança: IOException - Nos mesmos casos do LeitorArquivo.carregarGrafo.
+     */
+    public static RecarregadorGrafo carregar(String caminhoArquivo) throws IOException {
+        return new RecarregadorGrafo(caminhoArquivo, LeitorArquivo.carregarGrafo(caminhoArquivo));
+    }
+
+    public DadosArquivo getDados() {
+        return dados;
+    }
+
+    public String getCaminhoArquivo() {
+        return caminhoArquivo;
+    }
+
+    /**
+     * // Função: recarregar
+     * // Descrição: Relê o arquivo do mapa e aplica ao grafo só as diferenças. As arestas
+     * //            do arquivo novo são comparadas com o grafo pelo 'getAresta' (busca
+     * //            binária na adjacência da origem); depois, as arestas do grafo
+     * //            que não aparecem mais no arquivo são removidas. Se o tipo do grafo
+     * //            (orientado ou não) mudar, o grafo é montado do zero.
+     * // Entrada: Nenhuma.
+     * // Saída: O ResultadoRecarga com o que mudou.
+     * // Lança: IOException - Se o arquivo não puder ser lido ou estiver incompleto.
+     */
+    public synchronized ResultadoRecarga recarregar() throws IOException {
+        long inicio = System.nanoTime();
+        Grafo grafo = dados.grafo();
+        Declaracoes novas = lerDeclaracoes(grafo);
+
+        if (novas.orientado != grafo.isOrientado()) {
+            dados = LeitorArquivo.carregarGrafo(caminhoArquivo);
+            return new ResultadoRecarga(0, 0, 0, 0, true, System.nanoTime() - inicio);
+        }
+
+        int adicionadas = 0;
+        int removidas = 0;
+        int alteradas = 0;
+
+        for (Map.Entry<Long, Integer> entrada : novas.arestas.entrySet()) {
+            int origem = (int) (entrada.getKey() >> 32);
+            int destino = (int) (long) entrada.getKey();
+            Aresta atual = grafo.getAresta(origem, destino);
+            if (atual == null) {
+                grafo.alterarPeso(origem, destino, entrada.getValue());
+                adicionadas++;
+            } else if (atual.getPeso() != entrada.getValue()) {
+                grafo.alterarPeso(origem, destino, entrada.getValue());
+                alteradas++;
+            }
+        }
+
+        for (Aresta aresta : grafo.getTodasArestas()) {
+            int origem = aresta.getOrigem().getId();
+            int destino = aresta.getDestino().getId();
+            if (!novas.arestas.containsKey(chaveDeclarada(grafo, origem, destino))) {
+                if (grafo.removerAresta(origem, destino)) {
+                    removidas++;
+                }
+            }
+        }
+
+        int heuristicas = 0;
+        for (No no : grafo.getTodosNos()) {
+            int nova = novas.heuristicas.getOrDefault(no.getId(), 0);
+            if (no.getHeuristica() != nova) {
+                no.setHeuristica(nova);
+                heuristicas++;
+            }
+        }
+
+        if (!novas.noIniciaisLabels.equals(dados.noIniciaisLabels()) || !novas.noFinaisLabels.equals(dados.noFinaisLabels())) {
+            dados = new DadosArquivo(grafo, novas.noIniciaisLabels, novas.noFinaisLabels);
+        }
+
+        return new ResultadoRecarga(adicionadas, removidas, alteradas, heuristicas, false, System.nanoTime() - inicio);
+    }
+
+    /**
+     * // Função: aplicarDelta
+     * // Descrição: Aplica ao grafo as mudanças listadas em um arquivo delta (veja o
+     * //            formato no topo da classe). Só as linhas do delta são lidas.
+     * // Entrada: caminhoDelta (String) - O arquivo com as mudanças.
+     * // Saída: O ResultadoRecarga com o que mudou.
+     * // Lança: IOException - Se o arquivo não puder ser lido ou tiver uma linha inválida.
+     */
+    public synchronized ResultadoRecarga aplicarDelta(String caminhoDelta) throws IOException {
+        long inicio = System.nanoTime();
+        Grafo grafo = dados.grafo();
+        int adicionadas = 0;
+        int removidas = 0;
+        int alteradas = 0;
+        int heuristicas = 0;
+        int[] campos = new int[6];
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(caminhoDelta))) {
+            String linha;
+            int numeroLinha = 0;
+            while ((linha = reader.readLine()) != null) {
+                numeroLinha++;
+                linha = LeitorArquivo.limparLinha(linha);
+                if (linha.isEmpty()) {
+                    continue;
+                }
+
+                int quantidade = LeitorArquivo.separarCampos(linha, campos);
+                try {
+                    if ((linha.startsWith("adicionar") || linha.startsWith("pode_ir")) && quantidade == 3) {
+                        int origem = grafo.obterNo(linha, campos[0], campos[1]);
+                        int destino = grafo.obterNo(linha, campos[2], campos[3]);
+                        grafo.setAresta(origem, destino, Integer.parseInt(linha, campos[4], campos[5], 10));
+                        adicionadas++;
+                    } else if (linha.startsWith("alterar") && quantidade == 3) {
+                        int origem = grafo.obterNo(linha, campos[0], campos[1]);
+                        int destino = grafo.obterNo(linha, campos[2], campos[3]);
+                        grafo.alterarPeso(origem, destino, Integer.parseInt(linha, campos[4], campos[5], 10));
+                        alteradas++;
+                    } else if (linha.startsWith("remover") && quantidade == 2) {
+                        int origem = grafo.obterNo(linha, campos[0], campos[1]);
+                        int destino = grafo.obterNo(linha, campos[2], campos[3]);
+                        if (grafo.removerAresta(origem, destino)) {
+                            removidas++;
+                        }
+                    } else if (linha.startsWith("h(") && quantidade == 3) {
+                        int id = grafo.obterNo(linha, campos[0], campos[1]);
+                        grafo.getNo(id).setHeuristica(Integer.parseInt(linha, campos[4], campos[5], 10));
+                        heuristicas++;
+                    } else {
+                        throw new IOException("Linha " + numeroLinha + " do delta não reconhecida: " + linha);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IOException("Linha " + numeroLinha + " do delta tem um número inválido: " + linha, e);
+                }
+            }
+        }
+
+        return new ResultadoRecarga(adicionadas, removidas, alteradas, heuristicas, false, System.nanoTime() - inicio);
+    }
+
+    /**
+     * // Função: recarregarSePreciso
+     * // Descrição: Faz a recarga se a observação viu o arquivo ser salvo desde a última
+     * //            chamada. Deve ser chamada pela thread que usa o grafo, num momento em
+     * //            que nenhuma busca está rodando sobre ele (ex: entre dois comandos do menu).
+     * // Entrada: Nenhuma.
+     * // Saída: O ResultadoRecarga, ou null se o arquivo não mudou.
+     * // Lança: IOException - Nos mesmos casos de 'recarregar'.
+     */
+    public synchronized ResultadoRecarga recarregarSePreciso() throws IOException {
+        if (!arquivoMudou.getAndSet(false)) {
+            return null;
+        }
+        return recarregar();
+    }
+
+    /**
+     * // Função: iniciarObservacao
+     * // Descrição: Inicia uma thread (daemon) que observa a pasta do arquivo do mapa e
+     * //            anota quando o arquivo for modificado. Ela não mexe no grafo: a recarga
+     * //            fica pendente até a próxima chamada de 'recarregarSePreciso'.
+     * // Entrada: Nenhuma.
+     * // Saída: Nenhuma.
+     * // Lança: IOException - Se a pasta não puder ser observada.
+     */
+    public synchronized void iniciarObservacao() throws IOException {
+        if (observador != null) {
+            return;
+        }
+        Path arquivo = Path.of(caminhoArquivo).toAbsolutePath();
+        servicoObservacao = FileSystems.getDefault().newWatchService();
+        arquivo.getParent().register(servicoObservacao,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+
+        WatchService servico = servicoObservacao;
+        observador = new Thread(() -> observar(servico, arquivo.getFileName()), "observador-grafo");
+        observador.setDaemon(true);
+        observador.start();
+    }
+
+    public synchronized void pararObservacao() throws IOException {
+        if (observador != null) {
+            servicoObservacao.close();
+            observador.interrupt();
+            observador = null;
+        }
+    }
+
+    private void observar(WatchService servico, Path nomeArquivo) {
+        try {
+            while (true) {
+                WatchKey chave = servico.take();
+                for (WatchEvent<?> evento : chave.pollEvents()) {
+                    if (nomeArquivo.equals(evento.context())) {
+                        arquivoMudou.set(true);
+                    }
+                }
+                chave.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Observação encerrada
+        }
+    }
+
+    /**
+     * // Classe: Declaracoes
+     * // Descrição: O conteúdo de um arquivo de mapa relido: arestas como ficariam no
+     * //            grafo (pares origem/destino com o menor peso declarado), heurísticas
+     * //            (como o LeitorArquivo as deixaria),
+     * //            pontos inicial e final e o tipo do grafo.
+     */
+    private static final class Declaracoes {
+        final Map<Long, Integer> arestas = new HashMap<>();
+        Map<Integer, Integer> heuristicas = new HashMap<>();
+        final List<String> noIniciaisLabels = new ArrayList<>();
+        final List<String> noFinaisLabels = new ArrayList<>();
+        boolean orientado = false;
+    }
+
+    private Declaracoes lerDeclaracoes(Grafo grafo) throws IOException {
+        Declaracoes declaracoes = new Declaracoes();
+        HeuristicasPorDestino porDestino = new HeuristicasPorDestino();
+        int[] campos = new int[6];
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(caminhoArquivo))) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                linha = LeitorArquivo.limparLinha(linha);
+                if (linha.isEmpty()) {
+                    continue;
+                }
+
+                if (linha.startsWith("ponto_inicial")) {
+                    LeitorArquivo.adicionarLabels(linha, declaracoes.noIniciaisLabels);
+                } else if (linha.startsWith("ponto_final")) {
+                    LeitorArquivo.adicionarLabels(linha, declaracoes.noFinaisLabels);
+                } else if (linha.startsWith("orientado")) {
+                    declaracoes.orientado = LeitorArquivo.extrairConteudo(linha).equals("s");
+                } else if (linha.startsWith("pode_ir") || linha.startsWith("pode ir")) {
+                    if (LeitorArquivo.separarCampos(linha, campos) == 3) {
+                        int origem = grafo.obterNo(linha, campos[0], campos[1]);
+                        int destino = grafo.obterNo(linha, campos[2], campos[3]);
+                        int peso = Integer.parseInt(linha, campos[4], campos[5], 10);
+                        long chave = declaracoes.orientado || origem <= destino
+                                ? chave(origem, destino) : chave(destino, origem);
+                        declaracoes.arestas.merge(chave, peso, Math::min);
+                    }
+                } else if (linha.startsWith("h(")) {
+                    if (LeitorArquivo.separarCampos(linha, campos) == 3) {
+                        int id = grafo.obterNo(linha, campos[0], campos[1]);
+                        int heuristica = Integer.parseInt(linha, campos[4], campos[5], 10);
+                        declaracoes.heuristicas.put(id, heuristica);
+                        porDestino.registrar(linha, campos[2], campos[3], id, heuristica);
+                    }
+                }
+            }
+        }
+
+        if (declaracoes.noIniciaisLabels.isEmpty() || declaracoes.noFinaisLabels.isEmpty()) {
+            throw new IOException("Arquivo de entrada deve especificar 'ponto_inicial' e 'ponto_final'.");
+        }
+        // Mesma regra do LeitorArquivo: com vários destinos, vale a menor heurística entre eles.
+        if (declaracoes.noFinaisLabels.size() > 1) {
+            declaracoes.heuristicas = porDestino.resolver(declaracoes.noFinaisLabels);
+        }
+        return declaracoes;
+    }
+
+    // Em grafos não orientados, a aresta a-b e a b-a são a mesma declaração: a chave
+    // usa sempre o menor id primeiro.
+    private static long chaveDeclarada(Grafo grafo, int origem, int destino) {
+        return grafo.isOrientado() || origem <= destino ? chave(origem, destino) : chave(destino, origem);
+    }
+
+    private static long chave(int origem, int destino) {
+        return ((long) origem << 32) | (destino & 0xFFFFFFFFL);
+    }
+}